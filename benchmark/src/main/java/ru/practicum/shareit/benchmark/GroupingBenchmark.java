@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.utils.BookingUtils;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.model.CommentView;
+import ru.practicum.shareit.comment.utils.CommentUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupingBenchmark {
+    @Param({"10", "100"})
+    private int items;
+
+    @Param({"10", "100"})
+    private int rowsPerItem;
+
+    private List<Booking> bookings;
+    private List<CommentView> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 12, 0);
+        User owner = User.builder().id(0L).name("owner").email("owner@mail.com").build();
+        User author = User.builder().id(1L).name("author").email("author@mail.com").build();
+        List<Item> itemList = new ArrayList<>(items);
+
+        for (int i = 0; i < items; i++) {
+            itemList.add(Item.builder().id((long) i).name("Item " + i).description("Description of item " + i)
+                    .available(true).owner(owner).build());
+        }
+        bookings = new ArrayList<>(items * rowsPerItem);
+        comments = new ArrayList<>(items * rowsPerItem);
+
+        for (int i = 0; i < items * rowsPerItem; i++) {
+            Item item = itemList.get(i % items);
+            bookings.add(Booking.builder().id((long) i).start(start.plusHours(i)).end(start.plusHours(i + 1))
+                    .item(item).booker(author).status(BookingStatus.APPROVED).build());
+            comments.add(new MapperBenchmark.SimpleCommentView(Comment.builder().id(i).text("Comment " + i)
+                    .item(item).author(author).created(start.plusHours(i)).build()));
+        }
+    }
+
+    @Benchmark
+    public Map<Item, List<Booking>> bookingsByItem() {
+        return BookingUtils.groupByItem(bookings);
+    }
+
+    @Benchmark
+    public Map<Long, List<CommentView>> commentsByItemId() {
+        return CommentUtils.groupByItemId(comments);
+    }
+}
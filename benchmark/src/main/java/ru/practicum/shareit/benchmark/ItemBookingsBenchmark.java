@@ -0,0 +1,75 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.utils.BookingMapper;
+import ru.practicum.shareit.booking.utils.BookingUtils;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.utils.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemBookingsBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"0.1", "0.5", "0.9"})
+    private double pastShare;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private List<Booking> bookings;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 12, 0);
+        User owner = User.builder().id(0L).name("owner").email("owner@mail.com").build();
+        Item item = Item.builder().id(1L).name("Drill").description("Simple drill").available(true).owner(owner)
+                .build();
+        bookings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            User booker = User.builder().id((long) i + 1).name("booker" + i).email("booker" + i + "@mail.com")
+                    .build();
+            bookings.add(Booking.builder().id((long) i).start(start.plusHours(i)).end(start.plusHours(i + 1))
+                    .item(item).booker(booker).status(BookingStatus.APPROVED).build());
+        }
+        now = start.plusHours((long) (size * pastShare)).plusMinutes(30);
+    }
+
+    @Benchmark
+    public Booking lastBooking() {
+        return BookingUtils.findLastBooking(bookings, now);
+    }
+
+    @Benchmark
+    public Booking nextBooking() {
+        return BookingUtils.findNextBooking(bookings, now);
+    }
+
+    @Benchmark
+    public BookingDto[] setBookings() {
+        Booking lastBooking = BookingUtils.findLastBooking(bookings, now);
+        Booking nextBooking = BookingUtils.findNextBooking(bookings, now);
+        return new BookingDto[]{
+                lastBooking == null ? null : bookingMapper.toItemResponseDto(lastBooking,
+                        userMapper.toUserDto(lastBooking.getBooker())),
+                nextBooking == null ? null : bookingMapper.toItemResponseDto(nextBooking,
+                        userMapper.toUserDto(nextBooking.getBooker()))
+        };
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListing;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.booking.utils.BookingMapper;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.model.CommentView;
+import ru.practicum.shareit.comment.utils.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.utils.ItemMapper;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.utils.UserMapper;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+    @Param({"1000"})
+    private int size;
+
+    private final BookingMapper bookingMapper = new BookingMapper();
+    private final ItemMapper itemMapper = new ItemMapper();
+    private final CommentMapper commentMapper = new CommentMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private Booking[] bookings;
+    private BookingListing[] listings;
+    private Item[] items;
+    private Comment[] comments;
+    private CommentView[] commentViews;
+
+    @Setup
+    public void setUp() {
+        User owner = createUser(0);
+        Request request = Request.builder().id(1).description("Need a drill").requester(createUser(1))
+                .createdTime(START).build();
+        bookings = new Booking[size];
+        listings = new BookingListing[size];
+        items = new Item[size];
+        comments = new Comment[size];
+        commentViews = new CommentView[size];
+
+        for (int i = 0; i < size; i++) {
+            User booker = createUser(i + 2);
+            items[i] = Item.builder().id((long) i).name("Item " + i).description("Description of item " + i)
+                    .available(true).owner(owner).request(i % 2 == 0 ? request : null).commentCount(i % 7)
+                    .approvedBookingCount(i % 11).lastBookedAt(START.plusDays(i)).build();
+            bookings[i] = Booking.builder().id((long) i).start(START.plusDays(i)).end(START.plusDays(i + 1))
+                    .item(items[i]).booker(booker).status(BookingStatus.APPROVED).build();
+            listings[i] = bookingMapper.toBookingListing(bookingMapper.toResponseDto(bookings[i],
+                    userMapper.toUserDto(booker), itemMapper.toItemDto(items[i], userMapper.toUserDto(owner))));
+            comments[i] = Comment.builder().id(i).text("Comment " + i).item(items[i]).author(booker)
+                    .created(START.plusDays(i)).build();
+            commentViews[i] = new SimpleCommentView(comments[i]);
+        }
+    }
+
+    @Benchmark
+    public void bookingToResponseDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            UserDto ownerDto = userMapper.toUserDto(booking.getItem().getOwner());
+            ItemDto itemDto = itemMapper.toItemDto(booking.getItem(), ownerDto);
+            blackhole.consume(bookingMapper.toResponseDto(booking, userMapper.toUserDto(booking.getBooker()), itemDto));
+        }
+    }
+
+    @Benchmark
+    public void bookingListingToResponseDto(Blackhole blackhole) {
+        for (BookingListing listing : listings) {
+            blackhole.consume(bookingMapper.toResponseDto(listing));
+        }
+    }
+
+    @Benchmark
+    public void bookingToItemResponseDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingMapper.toItemResponseDto(booking, userMapper.toUserDto(booking.getBooker())));
+        }
+    }
+
+    @Benchmark
+    public void itemToItemDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemMapper.toItemDto(item, userMapper.toUserDto(item.getOwner())));
+        }
+    }
+
+    @Benchmark
+    public void commentToResponseDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(commentMapper.toResponseDto(comment, userMapper.toUserDto(comment.getAuthor())));
+        }
+    }
+
+    @Benchmark
+    public void commentViewToResponseDto(Blackhole blackhole) {
+        for (CommentView commentView : commentViews) {
+            blackhole.consume(commentMapper.toResponseDto(commentView));
+        }
+    }
+
+    private static User createUser(long id) {
+        return User.builder().id(id).name("user" + id).email("user" + id + "@mail.com").build();
+    }
+
+    static class SimpleCommentView implements CommentView {
+        private final Comment comment;
+
+        SimpleCommentView(Comment comment) {
+            this.comment = comment;
+        }
+
+        @Override
+        public Integer getId() {
+            return comment.getId();
+        }
+
+        @Override
+        public Long getItemId() {
+            return comment.getItem().getId();
+        }
+
+        @Override
+        public String getText() {
+            return comment.getText();
+        }
+
+        @Override
+        public String getAuthorName() {
+            return comment.getAuthor().getName();
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return comment.getCreated();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportEncodingBenchmark {
+    @Param
+    private Format format;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookingResponseDto> bookings;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(format.createFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new ParameterNamesModule(JsonCreator.Mode.DEFAULT))
+                .build();
+        bookings = createBookings(size);
+        encoded = objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] serverWrite(WireSize wireSize) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(bookings);
+        wireSize.bytes = body.length;
+        return body;
+    }
+
+    @Benchmark
+    public Object gatewayRead() throws IOException {
+        return objectMapper.readValue(encoded, Object.class);
+    }
+
+    private static List<BookingResponseDto> createBookings(int size) {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 12, 0);
+        UserDto owner = UserDto.builder().id(1).name("owner").email("owner@mail.com").build();
+        List<BookingResponseDto> bookings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            bookings.add(BookingResponseDto.builder()
+                    .id((long) i)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i + 1))
+                    .status(BookingStatus.values()[i % BookingStatus.values().length])
+                    .booker(UserDto.builder().id(i + 2).name("booker" + i).email("booker" + i + "@mail.com").build())
+                    .item(ItemDto.builder()
+                            .id(i % 50)
+                            .name("Item " + i % 50)
+                            .description("Description of item " + i % 50)
+                            .available(true)
+                            .owner(owner)
+                            .build())
+                    .build());
+        }
+        return bookings;
+    }
+
+    public enum Format {
+        JSON {
+            @Override
+            JsonFactory createFactory() {
+                return new JsonFactory();
+            }
+        },
+        SMILE {
+            @Override
+            JsonFactory createFactory() {
+                return new SmileFactory();
+            }
+        };
+
+        abstract JsonFactory createFactory();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.utils.CommonConstants;
+import ru.practicum.shareit.utils.GatewaySignature;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationPipelineBenchmark {
+    private static final String SECRET = "benchmark-secret";
+    private static final String USER_ID = "1";
+    private static final Path GATEWAY_CLASSES =
+            Path.of(System.getProperty("shareit.gateway.classes", "../gateway/target/classes"));
+
+    @Param
+    private Endpoint endpoint;
+
+    private ObjectMapper objectMapper;
+    private Validator validator;
+    private Class<?> gatewayDtoClass;
+    private Class<?>[] gatewayGroups;
+    private Class<?> serverDtoClass;
+    private Class<?>[] serverGroups;
+    private byte[] clientBody;
+    private byte[] forwardedBody;
+    private String timestamp;
+    private String signature;
+
+    @Setup
+    public void setUp() throws IOException, ClassNotFoundException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule(JsonCreator.Mode.DEFAULT))
+                .build();
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+        ClassLoader gatewayClassLoader = new GatewayClassLoader(GATEWAY_CLASSES, getClass().getClassLoader());
+        gatewayDtoClass = Class.forName(endpoint.dtoClass, true, gatewayClassLoader);
+        gatewayGroups = new Class<?>[]{Class.forName(endpoint.group, true, gatewayClassLoader)};
+        serverDtoClass = Class.forName(endpoint.dtoClass);
+        serverGroups = new Class<?>[]{Class.forName(endpoint.group)};
+        clientBody = endpoint.getBody().getBytes(StandardCharsets.UTF_8);
+        forwardedBody = objectMapper.writeValueAsBytes(objectMapper.readValue(clientBody, gatewayDtoClass));
+        timestamp = String.valueOf(System.currentTimeMillis());
+        signature = GatewaySignature.sign(SECRET, endpoint.method, endpoint.uri, USER_ID, timestamp, forwardedBody);
+    }
+
+    @Benchmark
+    public String gatewayValidateAndForward() throws IOException {
+        Object dto = objectMapper.readValue(clientBody, gatewayDtoClass);
+        validate(dto, gatewayGroups);
+        byte[] body = objectMapper.writeValueAsBytes(dto);
+        return GatewaySignature.sign(SECRET, endpoint.method, endpoint.uri, USER_ID, timestamp, body);
+    }
+
+    @Benchmark
+    public Object serverParseAndValidate() throws IOException {
+        Object dto = objectMapper.readValue(forwardedBody, serverDtoClass);
+        validate(dto, serverGroups);
+        return dto;
+    }
+
+    @Benchmark
+    public Object serverTrustedParse() throws IOException {
+        if (!GatewaySignature.verify(SECRET, endpoint.method, endpoint.uri, USER_ID, timestamp, forwardedBody,
+                signature)) {
+            throw new IllegalStateException("Signature was rejected");
+        }
+        return objectMapper.readValue(forwardedBody, serverDtoClass);
+    }
+
+    private void validate(Object dto, Class<?>[] groups) {
+        if (!validator.validate(dto, groups).isEmpty()) {
+            throw new IllegalStateException(endpoint + " body is not valid");
+        }
+    }
+
+    public enum Endpoint {
+        CREATE_USER("POST", "/users", "ru.practicum.shareit.user.dto.UserDto",
+                "ru.practicum.shareit.user.dto.UserDto$Create",
+                "{\"name\":\"user\",\"email\":\"user@mail.com\"}"),
+        CREATE_ITEM("POST", "/items", "ru.practicum.shareit.item.dto.ItemRequestDto",
+                "ru.practicum.shareit.item.dto.ItemRequestDto$New",
+                "{\"name\":\"Drill\",\"description\":\"Simple drill\",\"available\":true}"),
+        CREATE_BOOKING("POST", "/bookings", "ru.practicum.shareit.booking.dto.BookingRequestDto",
+                Default.class.getName(), "{\"itemId\":1,\"start\":\"%s\",\"end\":\"%s\"}"),
+        ADD_COMMENT("POST", "/items/1/comment", "ru.practicum.shareit.comment.dto.CommentRequestDto",
+                Default.class.getName(), "{\"text\":\"Add comment from user1\"}"),
+        CREATE_REQUEST("POST", "/requests", "ru.practicum.shareit.request.dto.RequestRequestDto",
+                Default.class.getName(), "{\"description\":\"Need a drill\"}");
+
+        private final String method;
+        private final String uri;
+        private final String dtoClass;
+        private final String group;
+        private final String body;
+
+        Endpoint(String method, String uri, String dtoClass, String group, String body) {
+            this.method = method;
+            this.uri = uri;
+            this.dtoClass = dtoClass;
+            this.group = group;
+            this.body = body;
+        }
+
+        private String getBody() {
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(CommonConstants.JSON_DATETIME_FORMAT);
+            return String.format(body, start.format(formatter), start.plusDays(1).format(formatter));
+        }
+    }
+
+    // The gateway DTOs share their names with the server ones, so they are loaded child-first from the gateway build.
+    private static class GatewayClassLoader extends URLClassLoader {
+        GatewayClassLoader(Path classes, ClassLoader parent) throws IOException {
+            super(new URL[]{toUrl(classes)}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith("ru.practicum.shareit.")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+
+        private static URL toUrl(Path classes) throws IOException {
+            if (!Files.isDirectory(classes)) {
+                throw new IOException("Gateway classes were not found in " + classes.toAbsolutePath()
+                        + ", build the gateway or set -Dshareit.gateway.classes");
+            }
+            return classes.toUri().toURL();
+        }
+    }
+}
@@ -3,14 +3,20 @@ package ru.practicum.shareit.booking.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.status.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.StreamLimiter;
 
+import java.io.IOException;
 import java.util.Map;
 
 @Service
@@ -18,12 +24,17 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory, RequestCoalescer requestCoalescer,
+                         ServerTransport serverTransport, StreamLimiter streamLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                requestCoalescer,
+                serverTransport,
+                streamLimiter
         );
     }
 
@@ -51,4 +62,9 @@ public class BookingClient extends BaseClient {
         );
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
+
+    public ResponseEntity<StreamingResponseBody> subscribe(long userId, String lastEventId, String prefix)
+            throws IOException {
+        return stream(prefix + "/subscribe", userId, MediaType.TEXT_EVENT_STREAM, lastEventId);
+    }
 }
\ No newline at end of file
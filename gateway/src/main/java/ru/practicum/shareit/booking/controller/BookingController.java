@@ -2,9 +2,11 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.status.BookingState;
@@ -13,6 +15,7 @@ import ru.practicum.shareit.utils.CommonConstants;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -61,4 +64,22 @@ public class BookingController {
         log.info("GET-owner-bookings was called.");
         return bookingClient.getBookings(userId, state, from, size, "/owner");
     }
-}
\ No newline at end of file
+
+    @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> subscribeAsBooker(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestHeader(value = CommonConstants.LAST_EVENT_ID_HEADER, required = false) String lastEventId)
+            throws IOException {
+        log.info("GET-bookings (subscribe) was called.");
+        return bookingClient.subscribe(userId, lastEventId, "");
+    }
+
+    @GetMapping(path = "/owner/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> subscribeAsOwner(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestHeader(value = CommonConstants.LAST_EVENT_ID_HEADER, required = false) String lastEventId)
+            throws IOException {
+        log.info("GET-owner-bookings (subscribe) was called.");
+        return bookingClient.subscribe(userId, lastEventId, "/owner");
+    }
+}
@@ -1,18 +1,55 @@
 package ru.practicum.shareit.client;
 
+import org.apache.http.conn.ConnectionReleaseTrigger;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.utils.CommonConstants;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 public class BaseClient {
+    private static final String GZIP_ENCODING = "gzip";
+
     protected final RestTemplate rest;
+    @Nullable
+    private final RequestCoalescer requestCoalescer;
+    private final ServerTransport serverTransport;
+    @Nullable
+    private final StreamLimiter streamLimiter;
+    private final String baseUri;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null, ServerTransport.JSON);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestCoalescer requestCoalescer, ServerTransport serverTransport) {
+        this(rest, requestCoalescer, serverTransport, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable RequestCoalescer requestCoalescer, ServerTransport serverTransport,
+                      @Nullable StreamLimiter streamLimiter) {
         this.rest = rest;
+        this.requestCoalescer = requestCoalescer;
+        this.serverTransport = serverTransport;
+        this.streamLimiter = streamLimiter;
+        this.baseUri = rest.getUriTemplateHandler().expand("").toString();
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -75,35 +112,281 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId, MediaType mediaType)
+            throws IOException {
+        return stream(path, userId, mediaType, null);
+    }
+
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId, MediaType mediaType,
+                                                           @Nullable String lastEventId) throws IOException {
+        if (streamLimiter != null) {
+            streamLimiter.acquire();
+        }
+        try {
+            return openStream(path, userId, mediaType, lastEventId);
+        } catch (IOException | RuntimeException e) {
+            releaseStream();
+            throw e;
+        }
+    }
+
+    protected ResponseEntity<StreamingResponseBody> list(String path, @Nullable Long userId,
+                                                         Map<String, Object> parameters) throws IOException {
+        if (streamLimiter != null) {
+            streamLimiter.acquire();
+        }
+        try {
+            return openList(path, userId, parameters);
+        } catch (IOException | RuntimeException e) {
+            releaseStream();
+            throw e;
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> openStream(String path, long userId, MediaType mediaType,
+                                                             @Nullable String lastEventId) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().setAccept(List.of(mediaType, MediaType.APPLICATION_JSON));
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        if (lastEventId != null) {
+            request.getHeaders().set(CommonConstants.LAST_EVENT_ID_HEADER, lastEventId);
+        }
+        ClientHttpResponse response = request.execute();
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return prepareErrorStream(response, new HttpHeaders());
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .cacheControl(CacheControl.noCache())
+                .body(pipe(response, true));
+    }
+
+    private ResponseEntity<StreamingResponseBody> openList(String path, @Nullable Long userId,
+                                                           Map<String, Object> parameters) throws IOException {
+        ClientHttpRequest request = rest.getRequestFactory()
+                .createRequest(rest.getUriTemplateHandler().expand(path, parameters), HttpMethod.GET);
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        String passthroughEncoding = getPassthroughEncoding();
+        if (passthroughEncoding != null) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, passthroughEncoding);
+        }
+        ClientHttpResponse response = request.execute();
+
+        HttpHeaders headers = new HttpHeaders();
+        if (passthroughEncoding != null) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+            if (response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                headers.put(HttpHeaders.CONTENT_ENCODING, response.getHeaders().get(HttpHeaders.CONTENT_ENCODING));
+            }
+        }
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return prepareErrorStream(response, headers);
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(Objects.requireNonNullElse(response.getHeaders().getContentType(),
+                        MediaType.APPLICATION_JSON))
+                .body(pipe(response, false));
+    }
+
+    private ResponseEntity<StreamingResponseBody> prepareErrorStream(ClientHttpResponse response,
+                                                                     HttpHeaders headers) throws IOException {
+        try (response) {
+            byte[] errorBody = StreamUtils.copyToByteArray(response.getBody());
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(headers)
+                    .contentType(Objects.requireNonNullElse(response.getHeaders().getContentType(),
+                            MediaType.APPLICATION_JSON))
+                    .body(outputStream -> {
+                        try {
+                            outputStream.write(errorBody);
+                        } finally {
+                            releaseStream();
+                        }
+                    });
+        }
+    }
+
+    private StreamingResponseBody pipe(ClientHttpResponse response, boolean flushEachRead) {
+        return outputStream -> {
+            try (response) {
+                InputStream inputStream = response.getBody();
+                try {
+                    byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+                    int read;
+                    while ((read = inputStream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, read);
+                        if (flushEachRead) {
+                            outputStream.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Closing a half-read HttpComponents body drains the rest of it, so it is aborted.
+                    if (inputStream instanceof ConnectionReleaseTrigger) {
+                        ((ConnectionReleaseTrigger) inputStream).abortConnection();
+                    }
+                    throw e;
+                }
+            } finally {
+                releaseStream();
+            }
+        };
+    }
+
+    private void releaseStream() {
+        if (streamLimiter != null) {
+            streamLimiter.release();
+        }
+    }
+
+    protected static Map<String, Object> getPageParameters(@Nullable Integer from, @Nullable Integer size, @Nullable Long after) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (size != null) {
+            if (from != null) {
+                parameters.put("from", from);
+            }
+            parameters.put("size", size);
+            if (after != null) {
+                parameters.put("after", after);
+            }
+        }
+        return parameters;
+    }
+
+    protected static String getQueryTemplate(Map<String, Object> parameters) {
+        return parameters.isEmpty() ? "" : parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&", "?", ""));
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        String passthroughEncoding = getPassthroughEncoding();
+
+        if (method == HttpMethod.GET && requestCoalescer != null) {
+            return requestCoalescer.execute(getCoalescingKey(path, userId, parameters, passthroughEncoding),
+                    () -> sendRequest(method, path, userId, parameters, body, passthroughEncoding));
+        }
+        return sendRequest(method, path, userId, parameters, body, passthroughEncoding);
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, @Nullable String passthroughEncoding) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (passthroughEncoding != null) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, passthroughEncoding);
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            if (passthroughEncoding != null) {
+                ResponseEntity<byte[]> rawResponse = exchange(path, method, requestEntity, byte[].class, parameters);
+                return preparePassthroughResponse(rawResponse.getStatusCode(), rawResponse.getHeaders(),
+                        rawResponse.getBody());
             }
+            return prepareGatewayResponse(exchange(path, method, requestEntity, Object.class, parameters));
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            if (passthroughEncoding != null) {
+                return preparePassthroughResponse(e.getStatusCode(), e.getResponseHeaders(),
+                        e.getResponseBodyAsByteArray());
+            }
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(serverTransport.readErrorBody(e.getResponseBodyAsByteArray()));
+        }
+    }
+
+    private <T, R> ResponseEntity<R> exchange(String path, HttpMethod method, HttpEntity<T> requestEntity, Class<R> responseType, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, responseType, parameters);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return rest.exchange(path, method, requestEntity, responseType);
+    }
+
+    @Nullable
+    private String getPassthroughEncoding() {
+        if (!serverTransport.isCompressionPassthrough()) {
+            return null;
+        }
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+
+        String acceptEncoding = ((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptsGzip(acceptEncoding) ? GZIP_ENCODING : null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        Double gzipQuality = null;
+        Double anyQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = getQuality(parts);
+            if (name.equals(GZIP_ENCODING) || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                anyQuality = quality;
+            }
+        }
+        return gzipQuality != null ? gzipQuality > 0 : anyQuality != null && anyQuality > 0;
+    }
+
+    private static double getQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private String getCoalescingKey(String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable String encoding) {
+        return baseUri + path + "|" + userId + "|" + encoding + "|"
+                + (parameters == null ? "" : new TreeMap<>(parameters).toString());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(serverTransport.getMediaType());
+        headers.setAccept(List.of(serverTransport.getMediaType()));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
+    private static ResponseEntity<Object> preparePassthroughResponse(HttpStatus status, @Nullable HttpHeaders serverHeaders, @Nullable byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (serverHeaders != null) {
+            if (serverHeaders.getContentType() != null) {
+                headers.setContentType(serverHeaders.getContentType());
+            }
+            if (serverHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+                headers.put(HttpHeaders.CONTENT_ENCODING, serverHeaders.get(HttpHeaders.CONTENT_ENCODING));
+            }
+        }
+        return new ResponseEntity<>(body, headers, status);
+    }
+
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.utils.CommonConstants;
+import ru.practicum.shareit.utils.GatewaySignature;
+
+import java.io.IOException;
+import java.net.URI;
+
+@Component
+@ConditionalOnProperty(name = "shareit.trusted-gateway.enabled", havingValue = "true")
+public class GatewaySigningInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+    private final String secret;
+
+    public GatewaySigningInterceptor(@Value("${shareit.trusted-gateway.secret}") String secret) {
+        this.secret = GatewaySignature.requireSecret(secret);
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpHeaders headers = request.getHeaders();
+        String timestamp = String.valueOf(System.currentTimeMillis());
+
+        headers.set(CommonConstants.GATEWAY_TIMESTAMP_HEADER, timestamp);
+        headers.set(CommonConstants.GATEWAY_SIGNATURE_HEADER, GatewaySignature.sign(secret, request.getMethodValue(),
+                getPathAndQuery(request.getURI()), headers.getFirst(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER),
+                timestamp, body));
+
+        return execution.execute(request, body);
+    }
+
+    private static String getPathAndQuery(URI uri) {
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+}
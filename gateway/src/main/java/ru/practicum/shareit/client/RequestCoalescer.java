@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class RequestCoalescer {
+    private final ConcurrentMap<String, CompletableFuture<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Counter upstreamCalls;
+    private final Counter coalescedCalls;
+
+    public RequestCoalescer(@Value("${shareit-gateway.coalescing.enabled:true}") boolean enabled,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.upstreamCalls = Counter.builder("gateway.coalescing.requests")
+                .tag("result", "upstream")
+                .description("GET requests that were sent to shareit-server")
+                .register(meterRegistry);
+        this.coalescedCalls = Counter.builder("gateway.coalescing.requests")
+                .tag("result", "coalesced")
+                .description("GET requests that were served by an identical in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescer::getCoalescingRatio)
+                .description("Share of GET requests that did not reach shareit-server")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, ConcurrentMap::size)
+                .description("Distinct GET requests currently waiting for shareit-server")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<Object> execute(String key, Supplier<ResponseEntity<Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        CompletableFuture<ResponseEntity<Object>> future = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> leader = inFlight.putIfAbsent(key, future);
+
+        if (leader != null) {
+            coalescedCalls.increment();
+            log.debug("GET {} joined an in-flight request.", key);
+            return await(leader);
+        }
+
+        upstreamCalls.increment();
+        try {
+            ResponseEntity<Object> response = call.get();
+            future.complete(response);
+            return response;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private double getCoalescingRatio() {
+        double coalesced = coalescedCalls.count();
+        double total = coalesced + upstreamCalls.count();
+        return total == 0 ? 0 : coalesced / total;
+    }
+
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.apache.http.impl.client.HttpClients;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ServerConnectionConfig {
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(
+            @Value("${shareit-server.http2.enabled:false}") boolean http2Enabled,
+            @Value("${shareit-server.max-connections:20}") int maxConnections,
+            @Value("${shareit-server.keep-alive:5m}") Duration keepAlive,
+            @Value("${shareit-server.read-timeout:30s}") Duration readTimeout) {
+        if (http2Enabled) {
+            return new OkHttp3ClientHttpRequestFactory(new OkHttpClient.Builder()
+                    .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+                    .connectionPool(new ConnectionPool(maxConnections, keepAlive.toMillis(),
+                            TimeUnit.MILLISECONDS))
+                    .readTimeout(readTimeout)
+                    .build());
+        }
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(
+                HttpClients.custom()
+                        .useSystemProperties()
+                        .disableContentCompression()
+                        .setMaxConnPerRoute(maxConnections)
+                        .setMaxConnTotal(maxConnections)
+                        .setConnectionTimeToLive(keepAlive.toMillis(), TimeUnit.MILLISECONDS)
+                        .build());
+        requestFactory.setReadTimeout((int) readTimeout.toMillis());
+        return requestFactory;
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+
+@Getter
+public class ServerTransport {
+    public static final MediaType SMILE_MEDIA_TYPE = new MediaType("application", "x-jackson-smile");
+    public static final ServerTransport JSON = new ServerTransport(MediaType.APPLICATION_JSON, null, false);
+
+    private final MediaType mediaType;
+    @Nullable
+    private final ObjectMapper objectMapper;
+    private final boolean compressionPassthrough;
+
+    public ServerTransport(MediaType mediaType, @Nullable ObjectMapper objectMapper, boolean compressionPassthrough) {
+        this.mediaType = mediaType;
+        this.objectMapper = objectMapper;
+        this.compressionPassthrough = compressionPassthrough;
+    }
+
+    public Object readErrorBody(byte[] body) {
+        if (objectMapper == null || body.length == 0) {
+            return body;
+        }
+        try {
+            return objectMapper.readValue(body, Object.class);
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    public enum Format {
+        JSON, SMILE
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class ServerTransportConfig implements WebMvcConfigurer {
+    @Bean
+    public ServerTransport serverTransport(@Value("${shareit-server.transport:json}") ServerTransport.Format format,
+                                           @Value("${shareit-gateway.compression.passthrough:true}") boolean passthrough,
+                                           Jackson2ObjectMapperBuilder builder) {
+        if (format == ServerTransport.Format.SMILE) {
+            return new ServerTransport(ServerTransport.SMILE_MEDIA_TYPE,
+                    builder.factory(new SmileFactory()).build(), false);
+        }
+        return new ServerTransport(MediaType.APPLICATION_JSON, null, passthrough);
+    }
+
+    @Bean
+    public RestTemplateCustomizer serverTransportCustomizer(ServerTransport serverTransport) {
+        return restTemplate -> {
+            if (serverTransport.getObjectMapper() != null) {
+                restTemplate.getMessageConverters()
+                        .add(0, new MappingJackson2SmileHttpMessageConverter(serverTransport.getObjectMapper()));
+            }
+        };
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.TooManyStreamsException;
+
+import java.util.concurrent.Semaphore;
+
+@Component
+public class StreamLimiter {
+    private final int maxConcurrentStreams;
+    private final Semaphore permits;
+
+    public StreamLimiter(@Value("${shareit-gateway.streams.max-concurrent:200}") int maxConcurrentStreams) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.permits = new Semaphore(maxConcurrentStreams);
+    }
+
+    public int getMaxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new TooManyStreamsException(maxConcurrentStreams);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.client.StreamLimiter;
+
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig implements WebMvcConfigurer {
+    private final StreamLimiter streamLimiter;
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamLimiter.getMaxConcurrentStreams());
+        executor.setMaxPoolSize(streamLimiter.getMaxConcurrentStreams());
+        // Every stream holds a StreamLimiter permit, so the queue only covers a thread that is still returning to the pool.
+        executor.setQueueCapacity(streamLimiter.getMaxConcurrentStreams());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("stream-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+    }
+}
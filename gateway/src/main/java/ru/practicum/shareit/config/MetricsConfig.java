@@ -0,0 +1,46 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.booking.status.BookingState;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+
+@Configuration
+public class MetricsConfig {
+    private static final String STATE_TAG = "state";
+    private static final String NO_STATE = "NONE";
+
+    @Bean
+    public WebMvcTagsContributor bookingStateTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of(STATE_TAG, getState(request));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    private static String getState(HttpServletRequest request) {
+        String state = request.getParameter(STATE_TAG);
+        if (state == null) {
+            return request.getRequestURI().startsWith("/bookings") ? BookingState.ALL.name() : NO_STATE;
+        }
+        return Arrays.stream(BookingState.values())
+                .map(BookingState::name)
+                .filter(state::equals)
+                .findFirst()
+                .orElse(NO_STATE);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.instrumentation.spring.web.v3_1.SpringWebTelemetry;
+import io.opentelemetry.instrumentation.spring.webmvc.v5_3.SpringWebMvcTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.Filter;
+
+// The SDK setup and the exporter choice are repeated in the other module because the two share no code.
+@Configuration
+@ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true")
+public class TracingConfig {
+    @Bean(destroyMethod = "close")
+    public OpenTelemetrySdk openTelemetry(@Value("${shareit.tracing.service-name}") String serviceName,
+                                          @Value("${shareit.tracing.exporter:none}") Exporter exporter,
+                                          @Value("${shareit.tracing.otlp-endpoint:http://localhost:4318/v1/traces}")
+                                          String otlpEndpoint,
+                                          @Value("${shareit.tracing.sampling-ratio:0.1}") double samplingRatio) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .setResource(Resource.getDefault().merge(Resource.create(
+                                Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                        .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplingRatio)))
+                        .addSpanProcessor(BatchSpanProcessor.builder(createExporter(exporter, otlpEndpoint)).build())
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public FilterRegistrationBean<Filter> tracingFilter(OpenTelemetry openTelemetry) {
+        FilterRegistrationBean<Filter> registration =
+                new FilterRegistrationBean<>(SpringWebMvcTelemetry.create(openTelemetry).createServletFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RestTemplateCustomizer tracingCustomizer(OpenTelemetry openTelemetry) {
+        return restTemplate -> restTemplate.getInterceptors()
+                .add(SpringWebTelemetry.create(openTelemetry).newInterceptor());
+    }
+
+    private static SpanExporter createExporter(Exporter exporter, String otlpEndpoint) {
+        switch (exporter) {
+            case OTLP:
+                return OtlpHttpSpanExporter.builder().setEndpoint(otlpEndpoint).build();
+            case LOGGING:
+                return LoggingSpanExporter.create();
+            default:
+                return SpanExporter.composite();
+        }
+    }
+
+    public enum Exporter {
+        NONE, LOGGING, OTLP
+    }
+}
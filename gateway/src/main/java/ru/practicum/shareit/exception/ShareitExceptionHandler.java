@@ -2,6 +2,8 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -49,6 +51,15 @@ public class ShareitExceptionHandler {
         return Map.of("error", "Unknown parameter: {}" + e.getParameter().getParameterName());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Map<String, String>> handleTooManyStreams(final TooManyStreamsException e) {
+        log.warn("Gateway rejected a stream: {}", e.getMessage());
+        // Streams are requested as text/event-stream, so the error type is set explicitly.
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler
     public Map<String, String> handleUnprocessedExceptions(final Throwable e) {
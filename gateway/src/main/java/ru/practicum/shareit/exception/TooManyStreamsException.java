@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+import ru.practicum.shareit.utils.CommonConstants;
+
+public class TooManyStreamsException extends RuntimeException {
+    public TooManyStreamsException(int maxConcurrentStreams) {
+        super(String.format(CommonConstants.Exceptions.TOO_MANY_STREAMS_EXCEPTION_MESSAGE, maxConcurrentStreams));
+    }
+}
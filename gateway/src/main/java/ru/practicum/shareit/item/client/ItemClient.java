@@ -4,14 +4,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.StreamLimiter;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Service
@@ -20,12 +26,17 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory, RequestCoalescer requestCoalescer,
+                      ServerTransport serverTransport, StreamLimiter streamLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                requestCoalescer,
+                serverTransport,
+                streamLimiter
         );
     }
 
@@ -45,13 +56,10 @@ public class ItemClient extends BaseClient {
         delete("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getAllItems(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-
-        return get("?from={from}&size={size}", userId, parameters);
+    public ResponseEntity<StreamingResponseBody> getAllItems(long userId, int from, int size, Long after)
+            throws IOException {
+        Map<String, Object> parameters = getPageParameters(from, size, after);
+        return list(getQueryTemplate(parameters), userId, parameters);
     }
 
     public ResponseEntity<Object> getAvailableItemsByText(long userId, String text, int from, int size) {
@@ -64,6 +72,16 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
+    public ResponseEntity<Object> getComments(long userId, long itemId, Integer after, int size) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("size", size);
+        if (after != null) {
+            parameters.put("after", after);
+        }
+
+        return get("/" + itemId + "/comments" + getQueryTemplate(parameters), userId, parameters);
+    }
+
     public ResponseEntity<Object> addComment(long userId, long itemId, CommentRequestDto commentRequestDto) {
         return post("/" + itemId + "/comment", userId, commentRequestDto);
     }
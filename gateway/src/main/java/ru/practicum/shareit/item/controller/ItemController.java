@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -12,8 +13,10 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.utils.CommonConstants;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/items")
@@ -52,11 +55,13 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItems(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
-                                              @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                              @RequestParam(defaultValue = "10") @Positive Integer size) {
+    public ResponseEntity<StreamingResponseBody> getAllItems(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) @Positive Long after) throws IOException {
         log.info("GET-items (all) was called.");
-        return itemClient.getAllItems(userId, from, size);
+        return itemClient.getAllItems(userId, from, size, after);
     }
 
     @GetMapping("/search")
@@ -68,6 +73,16 @@ public class ItemController {
         return itemClient.getAvailableItemsByText(userId, text, from, size);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+                                              @PathVariable long itemId,
+                                              @RequestParam(required = false) @Positive Integer after,
+                                              @RequestParam(defaultValue = "10") @Positive
+                                              @Max(CommonConstants.MAX_COMMENTS_PAGE_SIZE) Integer size) {
+        log.info("GET-items (comments) was called.");
+        return itemClient.getComments(userId, itemId, after, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(
             @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
@@ -3,13 +3,19 @@ package ru.practicum.shareit.request.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.StreamLimiter;
 import ru.practicum.shareit.request.dto.RequestRequestDto;
 
+import java.io.IOException;
 import java.util.Map;
 
 @Service
@@ -17,12 +23,17 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory, RequestCoalescer requestCoalescer,
+                         ServerTransport serverTransport, StreamLimiter streamLimiter) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                requestCoalescer,
+                serverTransport,
+                streamLimiter
         );
     }
 
@@ -34,15 +45,18 @@ public class RequestClient extends BaseClient {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getAllRequestsByUser(long userId) {
-        return get("", userId);
+    public ResponseEntity<StreamingResponseBody> getAllRequestsByUser(long userId, Integer from, Integer size,
+                                                                      Long after) throws IOException {
+        Map<String, Object> parameters = getPageParameters(from, size, after);
+        return list(getQueryTemplate(parameters), userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllRequests(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-            "from", from,
-            "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+    public ResponseEntity<StreamingResponseBody> subscribeToAnswers(long userId) throws IOException {
+        return stream("/subscribe", userId, MediaType.TEXT_EVENT_STREAM);
+    }
+
+    public ResponseEntity<Object> getAllRequests(long userId, int from, int size, Long after) {
+        Map<String, Object> parameters = getPageParameters(from, size, after);
+        return get("/all" + getQueryTemplate(parameters), userId, parameters);
     }
 }
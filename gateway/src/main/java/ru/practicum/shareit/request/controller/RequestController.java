@@ -2,9 +2,11 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.request.client.RequestClient;
 import ru.practicum.shareit.request.dto.RequestRequestDto;
 import ru.practicum.shareit.utils.CommonConstants;
@@ -12,6 +14,7 @@ import ru.practicum.shareit.utils.CommonConstants;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @RestController
 @RequestMapping(path = "/requests")
@@ -36,17 +39,29 @@ public class RequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllRequestsByUser(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId) {
+    public ResponseEntity<StreamingResponseBody> getAllRequestsByUser(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestParam(required = false) @PositiveOrZero Integer from,
+            @RequestParam(required = false) @Positive Integer size,
+            @RequestParam(required = false) @Positive Long after) throws IOException {
         log.info("GET-requests (all-by-user) was called.");
-        return requestClient.getAllRequestsByUser(userId);
+        return requestClient.getAllRequestsByUser(userId, from, size, after);
+    }
+
+    @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> subscribeToAnswers(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId) throws IOException {
+        log.info("GET-requests (subscribe) was called.");
+        return requestClient.subscribeToAnswers(userId);
     }
 
     @GetMapping("/all")
     public ResponseEntity<Object> getAllRequests(
             @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) @Positive Long after) {
         log.info("GET-requests (all) was called.");
-        return requestClient.getAllRequests(userId, from, size);
+        return requestClient.getAllRequests(userId, from, size, after);
     }
 }
@@ -5,13 +5,18 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class CommonConstants {
     public static final String ID_OF_USER_WHO_ADDS_HEADER = "X-Sharer-User-Id";
+    public static final String GATEWAY_TIMESTAMP_HEADER = "X-Gateway-Timestamp";
+    public static final String GATEWAY_SIGNATURE_HEADER = "X-Gateway-Signature";
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
     public static final String VALID_EMAIL_ADDRESS_REGEX = "^(?=.{1,64}@)[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*@"
             + "[^-][A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)*(\\.[A-Za-z]{2,})$";
     public static final String JSON_DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
+    public static final int MAX_COMMENTS_PAGE_SIZE = 100;
 
     public interface Exceptions {
         String ENTITY_DUPLICATE_EXCEPTION_MESSAGE = "Entity %s has duplicated field %s";
         String ENTITY_NOT_VALID_EXCEPTION_MESSAGE = "Entity %s has invalid field %s";
         String ENTITY_NOT_FOUND_EXCEPTION_MESSAGE = "Entity %s with id %d was not found";
+        String TOO_MANY_STREAMS_EXCEPTION_MESSAGE = "Gateway already serves %d streams";
     }
 }
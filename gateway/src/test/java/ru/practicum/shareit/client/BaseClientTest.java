@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseClientTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<MockClientHttpRequest> upstreamRequests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final BaseClient client = createClient();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Method under test: {@link BaseClient#get(String, Long, Map)}
+     */
+    @Test
+    void testGetCoalescesOnlyIdenticalRequests() throws Exception {
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+        results.add(submit(1L, "gzip", Map.of()));
+        results.add(submit(2L, "gzip", Map.of()));
+        results.add(submit(1L, null, Map.of()));
+        results.add(submit(1L, "gzip", Map.of("size", 10)));
+        awaitUntil(() -> upstreamRequests.size() == 4);
+        results.add(submit(1L, "gzip", Map.of()));
+        awaitUntil(() -> meterRegistry.counter("gateway.coalescing.requests", "result", "coalesced").count() == 1);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertEquals(HttpStatus.OK, result.get(5, TimeUnit.SECONDS).getStatusCode());
+        }
+        assertEquals(4, upstreamRequests.size());
+        assertEquals(Set.of("http://server/items|1|gzip", "http://server/items|2|gzip",
+                        "http://server/items|1|null", "http://server/items?size=10|1|gzip"),
+                upstreamRequests.stream()
+                        .map(request -> request.getURI() + "|"
+                                + request.getHeaders().getFirst("X-Sharer-User-Id") + "|"
+                                + request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING))
+                        .collect(Collectors.toSet()));
+    }
+
+    private BaseClient createClient() {
+        RestTemplate rest = new RestTemplate((uri, method) -> new MockClientHttpRequest(method, uri) {
+            @Override
+            protected ClientHttpResponse executeInternal() {
+                upstreamRequests.add(this);
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                MockClientHttpResponse response = new MockClientHttpResponse(
+                        "[]".getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+                response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                return response;
+            }
+        });
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://server/items"));
+        return new BaseClient(rest, new RequestCoalescer(true, meterRegistry),
+                new ServerTransport(MediaType.APPLICATION_JSON, null, true));
+    }
+
+    private Future<ResponseEntity<Object>> submit(long userId, @Nullable String acceptEncoding,
+                                                  Map<String, Object> parameters) {
+        return executor.submit(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            if (acceptEncoding != null) {
+                request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+            }
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                return client.get(BaseClient.getQueryTemplate(parameters), userId, parameters);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition was not met in time");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private static final int CALLERS = 5;
+    private static final String KEY = "http://server/items/1|1|null|";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer(true, meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Method under test: {@link RequestCoalescer#execute(String, Supplier)}
+     */
+    @Test
+    void testConcurrentIdenticalCallsShareOneUpstreamCall() throws Exception {
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+
+        List<Future<ResponseEntity<Object>>> results = submitAll(() -> {
+            upstreamCalls.incrementAndGet();
+            awaitRelease();
+            return response;
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertSame(response, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    /**
+     * Method under test: {@link RequestCoalescer#execute(String, Supplier)}
+     */
+    @Test
+    void testFailingLeaderFailsFollowersAndFreesKey() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Server is down");
+
+        List<Future<ResponseEntity<Object>>> results = submitAll(() -> {
+            upstreamCalls.incrementAndGet();
+            awaitRelease();
+            throw failure;
+        });
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        ResponseEntity<Object> retried = requestCoalescer.execute(KEY, () -> {
+            upstreamCalls.incrementAndGet();
+            return ResponseEntity.ok("item");
+        });
+        assertEquals("item", retried.getBody());
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private List<Future<ResponseEntity<Object>>> submitAll(Supplier<ResponseEntity<Object>> call) {
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> requestCoalescer.execute(KEY, call)));
+        }
+        return results;
+    }
+
+    private void awaitRelease() {
+        try {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitCoalesced(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter("gateway.coalescing.requests", "result", "coalesced").count() < followers) {
+            assertTrue(System.nanoTime() < deadline, "Followers did not join the in-flight call");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+public class SeedData {
+    public static final String USER_HEADER = "X-Sharer-User-Id";
+    public static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    public static final List<String> NOUNS = List.of("drill", "saw", "ladder", "tent", "bike", "kayak", "camera",
+            "projector", "hammer", "grill", "sander", "stroller", "snowboard", "telescope", "speaker", "mixer",
+            "vacuum", "heater", "compressor", "generator");
+    public static final List<String> ADJECTIVES = List.of("cordless", "electric", "folding", "compact",
+            "heavy-duty", "portable", "vintage", "professional", "lightweight", "waterproof");
+
+    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final List<Long> userIds;
+    private final List<Long> ownerIds;
+    private final Map<Long, Long> itemOwners;
+    private final List<Long> hotItemIds;
+
+    private SeedData(List<Long> userIds, List<Long> ownerIds, Map<Long, Long> itemOwners, List<Long> hotItemIds) {
+        this.userIds = userIds;
+        this.ownerIds = ownerIds;
+        this.itemOwners = itemOwners;
+        this.hotItemIds = hotItemIds;
+    }
+
+    public static SeedData seed(String baseUrl, int users, int owners, int items, int hotItems, int bookings) {
+        List<Long> userIds = IntStream.range(0, users).parallel()
+                .mapToObj(i -> post(baseUrl, "/users", null, Map.of("name", "user" + i,
+                        "email", "loadtest-" + System.nanoTime() + "-" + i + "@mail.com")))
+                .collect(Collectors.toList());
+        List<Long> ownerIds = userIds.subList(0, Math.min(owners, users));
+        Map<Long, Long> itemOwners = IntStream.range(0, items).parallel()
+                .mapToObj(i -> {
+                    long ownerId = ownerIds.get(i % ownerIds.size());
+                    return Map.entry(post(baseUrl, "/items", ownerId, Map.of("name", randomItemName(),
+                            "description", randomItemName() + " in good condition", "available", true)), ownerId);
+                })
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        List<Long> hotItemIds = itemOwners.keySet().stream().sorted().limit(hotItems).collect(Collectors.toList());
+        SeedData seedData = new SeedData(userIds, ownerIds, itemOwners, hotItemIds);
+
+        List<Long> itemIds = List.copyOf(itemOwners.keySet());
+        IntStream.range(0, bookings).parallel().forEach(i -> {
+            long itemId = itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+            long bookingId = post(baseUrl, "/bookings", seedData.randomBooker(itemId), randomBooking(itemId));
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                patch(baseUrl, "/bookings/" + bookingId + "?approved=true", itemOwners.get(itemId));
+            }
+        });
+        return seedData;
+    }
+
+    public static SeedData fromManifest(Path manifest, int hotItems) {
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(manifest.toFile());
+            Map<Long, Long> itemOwners = new LinkedHashMap<>();
+            root.path("hotItems").fields().forEachRemaining(entry ->
+                    itemOwners.put(Long.parseLong(entry.getKey()), entry.getValue().asLong()));
+            return new SeedData(
+                    range(root.path("firstUserId").asLong(), root.path("lastUserId").asLong()),
+                    range(root.path("firstOwnerId").asLong(), root.path("lastOwnerId").asLong()),
+                    itemOwners,
+                    itemOwners.keySet().stream().limit(hotItems).collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Long> getOwnerIds() {
+        return ownerIds;
+    }
+
+    public List<Long> getHotItemIds() {
+        return hotItemIds;
+    }
+
+    public long getOwner(long itemId) {
+        return itemOwners.get(itemId);
+    }
+
+    public long randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    public long randomBooker(long itemId) {
+        long ownerId = itemOwners.get(itemId);
+        long bookerId;
+        do {
+            bookerId = randomUser();
+        } while (bookerId == ownerId);
+        return bookerId;
+    }
+
+    public static Map<String, Object> randomBooking(long itemId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusHours(random.nextInt(24 * 365));
+        return Map.of("itemId", itemId, "start", start.format(DATE_TIME_FORMAT),
+                "end", start.plusHours(1 + random.nextInt(72)).format(DATE_TIME_FORMAT));
+    }
+
+    public static String randomItemName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return ADJECTIVES.get(random.nextInt(ADJECTIVES.size())) + " " + NOUNS.get(random.nextInt(NOUNS.size()));
+    }
+
+    private static List<Long> range(long first, long last) {
+        return LongStream.rangeClosed(first, last).boxed().collect(Collectors.toList());
+    }
+
+    private static long post(String baseUrl, String path, Long userId, Map<String, Object> body) {
+        return send(baseUrl, path, userId,
+                builder -> builder.POST(HttpRequest.BodyPublishers.ofString(toJson(body))));
+    }
+
+    private static void patch(String baseUrl, String path, Long userId) {
+        send(baseUrl, path, userId, builder -> builder.method("PATCH", HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private static long send(String baseUrl, String path, Long userId,
+                             Function<HttpRequest.Builder, HttpRequest.Builder> method) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json");
+        if (userId != null) {
+            builder.header(USER_HEADER, userId.toString());
+        }
+        try {
+            HttpResponse<String> response = HTTP_CLIENT.send(method.apply(builder).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": "
+                        + response.body());
+            }
+            return OBJECT_MAPPER.readTree(response.body()).path("id").asLong();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toJson(Map<String, Object> body) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
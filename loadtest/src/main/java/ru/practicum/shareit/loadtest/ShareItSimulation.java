@@ -0,0 +1,124 @@
+package ru.practicum.shareit.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+public class ShareItSimulation extends Simulation {
+    private static final String BASE_URL = System.getProperty("shareit.base-url", "http://localhost:8080");
+    private static final int USERS = Integer.getInteger("shareit.seed.users", 200);
+    private static final int OWNERS = Integer.getInteger("shareit.seed.owners", 40);
+    private static final int ITEMS = Integer.getInteger("shareit.seed.items", 1000);
+    private static final int BOOKINGS = Integer.getInteger("shareit.seed.bookings", 2000);
+    private static final String MANIFEST = System.getProperty("shareit.seed.manifest", "");
+    private static final int HOT_ITEMS = Integer.getInteger("shareit.hot-items", 5);
+    private static final int RAMP_SECONDS = Integer.getInteger("shareit.ramp-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("shareit.duration-seconds", 60);
+    private static final double SEARCH_RATE = Double.parseDouble(System.getProperty("shareit.rate.search", "40"));
+    private static final double BOOKING_RATE = Double.parseDouble(System.getProperty("shareit.rate.booking", "20"));
+    private static final double DASHBOARD_RATE = Double.parseDouble(
+            System.getProperty("shareit.rate.dashboard", "10"));
+    private static final double APPROVE_SHARE = Double.parseDouble(
+            System.getProperty("shareit.approve-share", "0.3"));
+    private static final double MAX_ERROR_PERCENT = Double.parseDouble(
+            System.getProperty("shareit.max-error-percent", "1"));
+    private static final List<String> OWNER_STATES = List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING");
+
+    private final SeedData seedData = MANIFEST.isBlank()
+            ? SeedData.seed(BASE_URL, USERS, OWNERS, ITEMS, HOT_ITEMS, BOOKINGS)
+            : SeedData.fromManifest(Path.of(MANIFEST), HOT_ITEMS);
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .shareConnections();
+
+    private final ScenarioBuilder itemSearch = scenario("Item search")
+            .feed(feeder(() -> Map.of(
+                    "userId", seedData.randomUser(),
+                    "text", SeedData.NOUNS.get(ThreadLocalRandom.current().nextInt(SeedData.NOUNS.size())))))
+            .exec(http("GET /items/search")
+                    .get("/items/search")
+                    .queryParam("text", "#{text}")
+                    .queryParam("size", "20")
+                    .header(SeedData.USER_HEADER, "#{userId}")
+                    .check(status().is(200)));
+
+    private final ScenarioBuilder bookingStorm = scenario("Booking storm")
+            .feed(feeder(() -> {
+                List<Long> hotItemIds = seedData.getHotItemIds();
+                long itemId = hotItemIds.get(ThreadLocalRandom.current().nextInt(hotItemIds.size()));
+                Map<String, Object> booking = SeedData.randomBooking(itemId);
+                return Map.of(
+                        "itemId", itemId,
+                        "ownerId", seedData.getOwner(itemId),
+                        "bookerId", seedData.randomBooker(itemId),
+                        "start", booking.get("start"),
+                        "end", booking.get("end"),
+                        "approve", ThreadLocalRandom.current().nextDouble() < APPROVE_SHARE);
+            }))
+            .exec(http("POST /bookings")
+                    .post("/bookings")
+                    .header(SeedData.USER_HEADER, "#{bookerId}")
+                    .body(StringBody("{\"itemId\":#{itemId},\"start\":\"#{start}\",\"end\":\"#{end}\"}"))
+                    .check(status().is(200), jsonPath("$.id").saveAs("bookingId")))
+            .doIf("#{approve}").then(exec(http("PATCH /bookings/{bookingId}")
+                    .patch("/bookings/#{bookingId}")
+                    .queryParam("approved", "true")
+                    .header(SeedData.USER_HEADER, "#{ownerId}")
+                    .check(status().is(200))));
+
+    private final ScenarioBuilder ownerDashboard = scenario("Owner dashboard")
+            .feed(feeder(() -> {
+                List<Long> ownerIds = seedData.getOwnerIds();
+                return Map.of(
+                        "ownerId", ownerIds.get(ThreadLocalRandom.current().nextInt(ownerIds.size())),
+                        "state", OWNER_STATES.get(ThreadLocalRandom.current().nextInt(OWNER_STATES.size())));
+            }))
+            .exec(http("GET /bookings/owner")
+                    .get("/bookings/owner")
+                    .queryParam("state", "#{state}")
+                    .queryParam("size", "20")
+                    .header(SeedData.USER_HEADER, "#{ownerId}")
+                    .check(status().is(200)))
+            .exec(http("GET /items")
+                    .get("/items")
+                    .queryParam("from", "0")
+                    .queryParam("size", "20")
+                    .header(SeedData.USER_HEADER, "#{ownerId}")
+                    .check(status().is(200)));
+
+    {
+        setUp(
+                itemSearch.injectOpen(
+                        rampUsersPerSec(1).to(SEARCH_RATE).during(RAMP_SECONDS),
+                        constantUsersPerSec(SEARCH_RATE).during(DURATION_SECONDS)),
+                bookingStorm.injectOpen(
+                        rampUsersPerSec(1).to(BOOKING_RATE).during(RAMP_SECONDS),
+                        constantUsersPerSec(BOOKING_RATE).during(DURATION_SECONDS)),
+                ownerDashboard.injectOpen(
+                        rampUsersPerSec(1).to(DASHBOARD_RATE).during(RAMP_SECONDS),
+                        constantUsersPerSec(DASHBOARD_RATE).during(DURATION_SECONDS)))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().failedRequests().percent().lt(MAX_ERROR_PERCENT),
+                        forAll().failedRequests().percent().lt(MAX_ERROR_PERCENT));
+    }
+
+    private static Iterator<Map<String, Object>> feeder(Supplier<Map<String, Object>> supplier) {
+        return Stream.generate(supplier).iterator();
+    }
+}
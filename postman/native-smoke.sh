@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Runs the postman collection against the native gateway.
+# Expects server/target/*-exec.jar and gateway/target/shareit-gateway to be built.
+# The gateway talks h2c and Smile to the server, signs its requests and exports every span over OTLP, so the
+# OkHttp, Smile, HmacSHA256 and OpenTelemetry paths run in the native image. Nothing listens for the spans.
+# The startup time and RSS go to gateway/target/native-smoke.md, and to the job summary when run in GitHub Actions.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+wait_for() {
+  until curl -sf -o /dev/null -H "X-Sharer-User-Id: 1" "$1"; do
+    sleep 0.05
+  done
+}
+
+secret=native-smoke
+java -jar server/target/*-exec.jar --shareit.trusted-gateway.enabled=true --shareit.trusted-gateway.secret=$secret \
+  > server/target/smoke.log 2>&1 &
+server_pid=$!
+gateway_pid=
+trap 'kill $server_pid $gateway_pid 2>/dev/null || true' EXIT
+wait_for http://localhost:9090/users
+
+start=$(date +%s%N)
+gateway/target/shareit-gateway --shareit-server.http2.enabled=true --shareit-server.transport=smile \
+  --shareit.trusted-gateway.enabled=true --shareit.trusted-gateway.secret=$secret \
+  --shareit.tracing.exporter=otlp --shareit.tracing.sampling-ratio=1 > gateway/target/smoke.log 2>&1 &
+gateway_pid=$!
+wait_for http://localhost:8080/users
+startup_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+echo "Native gateway served its first request in $startup_ms ms"
+
+npx newman run postman/sprint.json --delay-request 50
+rss_kb=$(ps -o rss= -p $gateway_pid | tr -d ' ')
+echo "Native gateway RSS after the collection: $rss_kb KB"
+
+report=gateway/target/native-smoke.md
+{
+  echo "| Native gateway | |"
+  echo "|---|---|"
+  echo "| Time to first request | $startup_ms ms |"
+  echo "| RSS after the collection | $rss_kb KB |"
+} > $report
+if [ -n "${GITHUB_STEP_SUMMARY:-}" ]; then
+  cat $report >> "$GITHUB_STEP_SUMMARY"
+fi
+
+if grep -q "Gateway signature was rejected" server/target/smoke.log; then
+  echo "The server rejected signatures made by the native gateway" >&2
+  exit 1
+fi
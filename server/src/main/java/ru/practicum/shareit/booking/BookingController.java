@@ -3,12 +3,16 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.status.BookingState;
+import ru.practicum.shareit.querybudget.QueryBudget;
 import ru.practicum.shareit.utils.CommonConstants;
 
 import javax.validation.Valid;
@@ -47,6 +51,7 @@ public class BookingController {
     }
 
     @GetMapping
+    @QueryBudget(2)
     public List<BookingResponseDto> getUserBookings(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
                                                     @RequestParam(defaultValue = "ALL") BookingState state,
                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
@@ -56,6 +61,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
+    @QueryBudget(2)
     public List<BookingResponseDto> getUserItems(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
                                                  @RequestParam(defaultValue = "ALL") BookingState state,
                                                  @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
@@ -63,4 +69,20 @@ public class BookingController {
         log.info("GET-owner-bookings was called.");
         return bookingService.getItems(state, userId, PageRequest.of(from, size));
     }
-}
\ No newline at end of file
+
+    @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeAsBooker(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+                                        @RequestHeader(value = CommonConstants.LAST_EVENT_ID_HEADER, required = false)
+                                        String lastEventId) {
+        log.info("GET-bookings (subscribe) was called.");
+        return bookingService.subscribe(BookingView.BOOKER, userId, lastEventId);
+    }
+
+    @GetMapping(path = "/owner/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeAsOwner(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+                                       @RequestHeader(value = CommonConstants.LAST_EVENT_ID_HEADER, required = false)
+                                       String lastEventId) {
+        log.info("GET-owner-bookings (subscribe) was called.");
+        return bookingService.subscribe(BookingView.OWNER, userId, lastEventId);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingListingProjector;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "bookinglistings")
+@RequiredArgsConstructor
+public class BookingListingEndpoint {
+    private final BookingListingProjector bookingListingProjector;
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("rebuilt", bookingListingProjector.rebuild());
+    }
+}
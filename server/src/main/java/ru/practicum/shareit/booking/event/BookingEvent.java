@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.*;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEvent {
+    private BookingEventType type;
+    private long bookerId;
+    private long ownerId;
+    private BookingResponseDto booking;
+}
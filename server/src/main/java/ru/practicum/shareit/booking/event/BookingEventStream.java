@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.event;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.outbox.service.OutboxConsumer;
+import ru.practicum.shareit.utils.SseHub;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+@Component
+public class BookingEventStream implements OutboxConsumer<BookingEvent> {
+    private static final String BOOKING_EVENT = "booking";
+    private static final String RESET_EVENT = "reset";
+
+    private final SseHub<Subscriber> sseHub;
+    private final int historySize;
+    private final Deque<Entry> history;
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private long sequence;
+
+    public BookingEventStream(@Qualifier("sseTaskExecutor") TaskExecutor taskExecutor,
+                              @Value("${shareit.bookings.events.timeout:30m}") Duration timeout,
+                              @Value("${shareit.bookings.events.queue-capacity:64}") int queueCapacity,
+                              @Value("${shareit.bookings.events.history-size:1024}") int historySize) {
+        this.sseHub = new SseHub<>(taskExecutor, timeout, queueCapacity);
+        this.historySize = historySize;
+        this.history = new ArrayDeque<>(historySize);
+    }
+
+    public synchronized SseEmitter subscribe(BookingView view, long userId, String lastEventId) {
+        Subscriber subscriber = new Subscriber(view, userId);
+        return sseHub.subscribe(subscriber, lastEventId == null ? List.of() : replay(subscriber, lastEventId));
+    }
+
+    @Override
+    public Class<BookingEvent> getEventType() {
+        return BookingEvent.class;
+    }
+
+    @Override
+    public synchronized void consume(BookingEvent event) {
+        Entry entry = new Entry(++sequence, event);
+        if (history.size() == historySize) {
+            history.removeFirst();
+        }
+        history.addLast(entry);
+
+        sseHub.send(new Subscriber(BookingView.BOOKER, event.getBookerId()), toSseEvent(entry));
+        sseHub.send(new Subscriber(BookingView.OWNER, event.getOwnerId()), toSseEvent(entry));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        sseHub.sendHeartbeats();
+    }
+
+    List<SseEmitter.SseEventBuilder> replay(Subscriber subscriber, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        if (lastSequence < 0 || lastSequence > sequence
+                || (lastSequence < sequence && (history.isEmpty() || history.getFirst().sequence > lastSequence + 1))) {
+            return List.of(reset());
+        }
+
+        List<SseEmitter.SseEventBuilder> missed = new ArrayList<>();
+        for (Entry entry : history) {
+            if (entry.sequence > lastSequence && subscriber.matches(entry.event)) {
+                missed.add(toSseEvent(entry));
+            }
+        }
+        return missed.size() < sseHub.getQueueCapacity() ? missed : List.of(reset());
+    }
+
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(Entry entry) {
+        return SseEmitter.event()
+                .name(BOOKING_EVENT)
+                .id(epoch + "-" + entry.sequence)
+                .data(entry.event);
+    }
+
+    private SseEmitter.SseEventBuilder reset() {
+        return SseEmitter.event()
+                .name(RESET_EVENT)
+                .id(epoch + "-" + sequence)
+                .data("History is not available, list bookings again.");
+    }
+
+    @lombok.Value
+    private static class Entry {
+        long sequence;
+        BookingEvent event;
+    }
+
+    @lombok.Value
+    static class Subscriber {
+        BookingView view;
+        long userId;
+
+        boolean matches(BookingEvent event) {
+            return userId == (view == BookingView.BOOKER ? event.getBookerId() : event.getOwnerId());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking.event;
+
+public enum BookingEventType {
+    CREATED, APPROVED, REJECTED
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking.event;
+
+public enum BookingView {
+    BOOKER, OWNER
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import ru.practicum.shareit.booking.status.BookingStatus;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "booking_listings")
+public class BookingListing {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "start_date")
+    private LocalDateTime start;
+
+    @Column(name = "end_date")
+    private LocalDateTime end;
+
+    @Enumerated
+    private BookingStatus status;
+
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Column(name = "item_name")
+    private String itemName;
+
+    @Column(name = "item_description")
+    private String itemDescription;
+
+    @Column(name = "item_available")
+    private Boolean itemAvailable;
+
+    @Column(name = "item_request_id")
+    private Long itemRequestId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "owner_name")
+    private String ownerName;
+
+    @Column(name = "owner_email")
+    private String ownerEmail;
+
+    @Column(name = "booker_id")
+    private Long bookerId;
+
+    @Column(name = "booker_name")
+    private String bookerName;
+
+    @Column(name = "booker_email")
+    private String bookerEmail;
+}
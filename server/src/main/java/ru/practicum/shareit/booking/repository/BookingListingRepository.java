@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.model.BookingListing;
+import ru.practicum.shareit.booking.status.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingListingRepository extends JpaRepository<BookingListing, Long> {
+    String DELETE_ALL_LISTINGS = "DELETE FROM booking_listings";
+    String INSERT_ALL_FROM_BOOKINGS = "INSERT INTO booking_listings (booking_id, start_date, end_date, status, " +
+            "item_id, item_name, item_description, item_available, item_request_id, owner_id, owner_name, " +
+            "owner_email, booker_id, booker_name, booker_email) " +
+            "SELECT b.id, b.start_date, b.end_date, b.status, i.id, i.name, i.description, i.available, " +
+            "i.request_id, o.id, o.name, o.email, u.id, u.name, u.email " +
+            "FROM bookings b " +
+            "JOIN items i ON i.id = b.item_id " +
+            "JOIN users o ON o.id = i.owner_id " +
+            "JOIN users u ON u.id = b.booker_id";
+    String BOOKING_ID_RANGE = " WHERE b.id > ?1 AND b.id <= ?2";
+
+    List<BookingListing> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
+
+    List<BookingListing> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
+
+    List<BookingListing> findByBookerIdAndEndLessThanOrderByStartDesc(Long bookerId, LocalDateTime now, Pageable pageable);
+
+    List<BookingListing> findByBookerIdAndStartGreaterThanOrderByStartDesc(Long bookerId, LocalDateTime now,
+                                                                           Pageable pageable);
+
+    List<BookingListing> findByBookerIdAndStartLessThanAndEndGreaterThanOrderByStartDesc(Long bookerId,
+                                                                                         LocalDateTime now,
+                                                                                         LocalDateTime now1,
+                                                                                         Pageable pageable);
+
+    List<BookingListing> findByOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
+
+    List<BookingListing> findByOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable pageable);
+
+    List<BookingListing> findByOwnerIdAndEndLessThanOrderByStartDesc(Long ownerId, LocalDateTime now, Pageable pageable);
+
+    List<BookingListing> findByOwnerIdAndStartGreaterThanOrderByStartDesc(Long ownerId, LocalDateTime now,
+                                                                          Pageable pageable);
+
+    List<BookingListing> findByOwnerIdAndStartLessThanAndEndGreaterThanOrderByStartDesc(Long ownerId,
+                                                                                        LocalDateTime now,
+                                                                                        LocalDateTime now1,
+                                                                                        Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE BookingListing l SET l.itemName = ?2, l.itemDescription = ?3, l.itemAvailable = ?4 " +
+            "WHERE l.itemId = ?1")
+    int updateItem(Long itemId, String name, String description, Boolean available);
+
+    @Modifying
+    @Query("UPDATE BookingListing l SET l.bookerName = ?2, l.bookerEmail = ?3 WHERE l.bookerId = ?1")
+    int updateBooker(Long bookerId, String name, String email);
+
+    @Modifying
+    @Query("UPDATE BookingListing l SET l.ownerName = ?2, l.ownerEmail = ?3 WHERE l.ownerId = ?1")
+    int updateOwner(Long ownerId, String name, String email);
+
+    @Modifying
+    @Query("DELETE FROM BookingListing l WHERE l.itemId = ?1")
+    int deleteByItem(Long itemId);
+
+    @Modifying
+    @Query("DELETE FROM BookingListing l WHERE l.bookerId = ?1 OR l.ownerId = ?1")
+    int deleteByUser(Long userId);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM bookings", nativeQuery = true)
+    long findMaxBookingId();
+
+    @Modifying
+    @Query("DELETE FROM BookingListing l WHERE l.bookingId > ?1 AND l.bookingId <= ?2")
+    int deleteInRange(long fromId, long toId);
+
+    @Modifying
+    @Query("DELETE FROM BookingListing l WHERE l.bookingId > ?1")
+    int deleteAbove(long maxId);
+
+    @Modifying
+    @Query(value = INSERT_ALL_FROM_BOOKINGS + BOOKING_ID_RANGE, nativeQuery = true)
+    int insertFromBookingsInRange(long fromId, long toId);
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.repository.BookingListingRepository;
+import ru.practicum.shareit.booking.utils.BookingMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.item.event.ItemEventType;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserEvent;
+import ru.practicum.shareit.user.event.UserEventType;
+
+@Component
+@Slf4j
+public class BookingListingProjector {
+    private final BookingListingRepository bookingListingRepository;
+    private final BookingMapper bookingMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public BookingListingProjector(BookingListingRepository bookingListingRepository, BookingMapper bookingMapper,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${shareit.bookings.listings.batch-size:1000}") int batchSize) {
+        this.bookingListingRepository = bookingListingRepository;
+        this.bookingMapper = bookingMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        bookingListingRepository.save(bookingMapper.toBookingListing(event.getBooking()));
+    }
+
+    @EventListener
+    public void onItemEvent(ItemEvent event) {
+        ItemDto item = event.getItem();
+        if (event.getType() == ItemEventType.DELETED) {
+            bookingListingRepository.deleteByItem(item.getId());
+        } else if (event.getType() == ItemEventType.UPDATED) {
+            bookingListingRepository.updateItem(item.getId(), item.getName(), item.getDescription(),
+                    item.getAvailable());
+        }
+    }
+
+    @EventListener
+    public void onUserEvent(UserEvent event) {
+        UserDto user = event.getUser();
+        if (event.getType() == UserEventType.DELETED) {
+            bookingListingRepository.deleteByUser(user.getId());
+        } else {
+            bookingListingRepository.updateBooker(user.getId(), user.getName(), user.getEmail());
+            bookingListingRepository.updateOwner(user.getId(), user.getName(), user.getEmail());
+        }
+    }
+
+    public int rebuild() {
+        long maxId = bookingListingRepository.findMaxBookingId();
+        int rebuilt = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            rebuilt += rebuildRange(fromId, fromId + batchSize);
+        }
+        transactionTemplate.executeWithoutResult(status -> bookingListingRepository.deleteAbove(maxId));
+
+        log.info("Booking listings were rebuilt from {} bookings in batches of {}.", rebuilt, batchSize);
+        return rebuilt;
+    }
+
+    private int rebuildRange(long fromId, long toId) {
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            bookingListingRepository.deleteInRange(fromId, toId);
+            return bookingListingRepository.insertFromBookingsInRange(fromId, toId);
+        });
+        return rebuilt == null ? 0 : rebuilt;
+    }
+}
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingView;
 import ru.practicum.shareit.booking.status.BookingState;
 
 import java.util.List;
@@ -17,4 +19,6 @@ public interface BookingService {
     List<BookingResponseDto> getBookings(BookingState state, long itemId, PageRequest pageRequest);
 
     List<BookingResponseDto> getItems(BookingState state, long itemId, PageRequest pageRequest);
+
+    SseEmitter subscribe(BookingView view, long userId, String lastEventId);
 }
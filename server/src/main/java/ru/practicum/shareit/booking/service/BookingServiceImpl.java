@@ -1,21 +1,32 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingEvent;
+import ru.practicum.shareit.booking.event.BookingEventStream;
+import ru.practicum.shareit.booking.event.BookingEventType;
+import ru.practicum.shareit.booking.event.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListing;
+import ru.practicum.shareit.booking.repository.BookingListingRepository;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.status.BookingState;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.utils.BookingMapper;
+import ru.practicum.shareit.config.MetricsConfig;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.EntityNotValidException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.utils.ItemMapper;
+import ru.practicum.shareit.outbox.model.OutboxAggregate;
+import ru.practicum.shareit.outbox.service.OutboxPublisher;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.utils.UserMapper;
@@ -27,14 +38,18 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
     private final BookingMapper bookingMapper;
     private final BookingRepository bookingRepository;
+    private final BookingListingRepository bookingListingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
+    private final OutboxPublisher outboxPublisher;
+    private final BookingEventStream bookingEventStream;
 
     @Override
     @Transactional
@@ -65,8 +80,10 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
 
         Booking newBooking = bookingRepository.save(booking);
+        BookingResponseDto bookingResponseDto = getBookingResponseDto(newBooking);
+        publishEvent(BookingEventType.CREATED, newBooking, bookingResponseDto);
 
-        return getBookingResponseDto(newBooking);
+        return bookingResponseDto;
     }
 
     @Override
@@ -99,8 +116,17 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        Booking updatedBooking = bookingRepository.save(booking);
 
-        return getBookingResponseDto(bookingRepository.save(booking));
+        if (approved) {
+            itemRepository.incrementApprovedBookingCount(booking.getItem().getId(), booking.getStart());
+        }
+
+        BookingResponseDto bookingResponseDto = getBookingResponseDto(updatedBooking);
+        publishEvent(approved ? BookingEventType.APPROVED : BookingEventType.REJECTED, updatedBooking,
+                bookingResponseDto);
+
+        return bookingResponseDto;
     }
 
     @Override
@@ -108,65 +134,80 @@ public class BookingServiceImpl implements BookingService {
         getValidUser(userId);
         LocalDateTime currentTime = DateUtils.getCurrentTime();
 
-        List<Booking> bookings;
+        List<BookingListing> bookings;
 
         switch (state) {
             case CURRENT:
-                bookings = bookingRepository.findByBookerIdAndStartLessThanAndEndGreaterThanOrderByStartDesc(userId,
+                bookings = bookingListingRepository.findByBookerIdAndStartLessThanAndEndGreaterThanOrderByStartDesc(userId,
                         currentTime, currentTime, pageRequest);
                 break;
             case PAST:
-                bookings = bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(userId, currentTime, pageRequest);
+                bookings = bookingListingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(userId, currentTime, pageRequest);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(userId, currentTime, pageRequest);
+                bookings = bookingListingRepository.findByBookerIdAndStartGreaterThanOrderByStartDesc(userId, currentTime, pageRequest);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageRequest);
+                bookings = bookingListingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING, pageRequest);
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageRequest);
+                bookings = bookingListingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED, pageRequest);
                 break;
             default:
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId, pageRequest);
+                bookings = bookingListingRepository.findByBookerIdOrderByStartDesc(userId, pageRequest);
         }
 
-        return bookings.stream().map(this::getBookingResponseDto).collect(Collectors.toList());
+        return bookings.stream().map(bookingMapper::toResponseDto).collect(Collectors.toList());
     }
 
     @Override
     public List<BookingResponseDto> getItems(BookingState state, long ownerId, PageRequest pageRequest) {
         getValidUser(ownerId);
 
-        List<Booking> bookings;
+        List<BookingListing> bookings;
         LocalDateTime currentTime = DateUtils.getCurrentTime();
 
         switch (state) {
             case CURRENT:
-                bookings = bookingRepository.findByItemOwnerIdAndStartLessThanAndEndGreaterThanOrderByStartDesc(ownerId,
+                bookings = bookingListingRepository.findByOwnerIdAndStartLessThanAndEndGreaterThanOrderByStartDesc(ownerId,
                         currentTime, currentTime, pageRequest);
                 break;
             case PAST:
-                bookings = bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(ownerId, currentTime, pageRequest);
+                bookings = bookingListingRepository.findByOwnerIdAndEndLessThanOrderByStartDesc(ownerId, currentTime, pageRequest);
                 break;
             case FUTURE:
-                bookings = bookingRepository.findByItemOwnerIdAndStartGreaterThanOrderByStartDesc(ownerId, currentTime,
+                bookings = bookingListingRepository.findByOwnerIdAndStartGreaterThanOrderByStartDesc(ownerId, currentTime,
                         pageRequest);
                 break;
             case WAITING:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING,
+                bookings = bookingListingRepository.findByOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING,
                         pageRequest);
                 break;
             case REJECTED:
-                bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED,
+                bookings = bookingListingRepository.findByOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED,
                         pageRequest);
                 break;
             default:
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, pageRequest);
+                bookings = bookingListingRepository.findByOwnerIdOrderByStartDesc(ownerId, pageRequest);
                 break;
         }
 
-        return bookings.stream().map(this::getBookingResponseDto).collect(Collectors.toList());
+        return bookings.stream().map(bookingMapper::toResponseDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public SseEmitter subscribe(BookingView view, long userId, String lastEventId) {
+        getValidUser(userId);
+        return bookingEventStream.subscribe(view, userId, lastEventId);
+    }
+
+    private void publishEvent(BookingEventType type, Booking booking, BookingResponseDto bookingResponseDto) {
+        outboxPublisher.publish(OutboxAggregate.BOOKING, booking.getId(), BookingEvent.builder()
+                .type(type)
+                .bookerId(booking.getBooker().getId())
+                .ownerId(booking.getItem().getOwner().getId())
+                .booking(bookingResponseDto)
+                .build());
     }
 
     private User getValidUser(long userId) {
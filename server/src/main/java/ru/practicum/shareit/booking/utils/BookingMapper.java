@@ -5,11 +5,13 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListing;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Component
 public class BookingMapper {
-    public BookingResponseDto toResponseDto(Booking booking, UserDto userDto, ru.practicum.shareit.item.dto.ItemDto itemDto) {
+    public BookingResponseDto toResponseDto(Booking booking, UserDto userDto, ItemDto itemDto) {
         return BookingResponseDto.builder()
                 .id(booking.getId())
                 .status(booking.getStatus())
@@ -20,6 +22,53 @@ public class BookingMapper {
                 .build();
     }
 
+    public BookingResponseDto toResponseDto(BookingListing listing) {
+        return BookingResponseDto.builder()
+                .id(listing.getBookingId())
+                .status(listing.getStatus())
+                .start(listing.getStart())
+                .end(listing.getEnd())
+                .booker(UserDto.builder()
+                        .id(listing.getBookerId())
+                        .name(listing.getBookerName())
+                        .email(listing.getBookerEmail())
+                        .build())
+                .item(ItemDto.builder()
+                        .id(listing.getItemId())
+                        .name(listing.getItemName())
+                        .description(listing.getItemDescription())
+                        .available(listing.getItemAvailable())
+                        .requestId(listing.getItemRequestId())
+                        .owner(UserDto.builder()
+                                .id(listing.getOwnerId())
+                                .name(listing.getOwnerName())
+                                .email(listing.getOwnerEmail())
+                                .build())
+                        .build())
+                .build();
+    }
+
+    public BookingListing toBookingListing(BookingResponseDto bookingResponseDto) {
+        ItemDto item = bookingResponseDto.getItem();
+        return BookingListing.builder()
+                .bookingId(bookingResponseDto.getId())
+                .start(bookingResponseDto.getStart())
+                .end(bookingResponseDto.getEnd())
+                .status(bookingResponseDto.getStatus())
+                .itemId(item.getId())
+                .itemName(item.getName())
+                .itemDescription(item.getDescription())
+                .itemAvailable(item.getAvailable())
+                .itemRequestId(item.getRequestId())
+                .ownerId(item.getOwner().getId())
+                .ownerName(item.getOwner().getName())
+                .ownerEmail(item.getOwner().getEmail())
+                .bookerId(bookingResponseDto.getBooker().getId())
+                .bookerName(bookingResponseDto.getBooker().getName())
+                .bookerEmail(bookingResponseDto.getBooker().getEmail())
+                .build();
+    }
+
     public BookingDto toItemResponseDto(Booking booking, UserDto userDto) {
         return BookingDto.builder()
                 .id(booking.getId())
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class BookingUtils {
+    @Nullable
+    public Booking findLastBooking(@Nullable List<Booking> bookingsByStart, LocalDateTime now) {
+        return bookingsByStart == null ? null : bookingsByStart.stream()
+                .filter(booking -> !booking.getStart().isAfter(now))
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    @Nullable
+    public Booking findNextBooking(@Nullable List<Booking> bookingsByStart, LocalDateTime now) {
+        return bookingsByStart == null ? null : bookingsByStart.stream()
+                .filter(booking -> booking.getStart().isAfter(now))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public Map<Item, List<Booking>> groupByItem(List<Booking> bookings) {
+        return bookings.stream().collect(Collectors.groupingBy(Booking::getItem, Collectors.toList()));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.comment.model;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {
+    Integer getId();
+
+    Long getItemId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -1,12 +1,31 @@
 package ru.practicum.shareit.comment.repository;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.comment.model.Comment;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.comment.model.CommentView;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    List<Comment> findByItemIn(List<Item> items, Sort sort);
+    @Query(value = "SELECT ranked.id AS id, ranked.item_id AS itemId, ranked.text AS text, " +
+            "ranked.author_name AS authorName, ranked.created_time AS created " +
+            "FROM (SELECT c.id, c.item_id, c.text, u.name AS author_name, c.created_time, " +
+            "ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created_time DESC, c.id DESC) AS position " +
+            "FROM comments c JOIN users u ON u.id = c.author_id WHERE c.item_id IN (?1)) ranked " +
+            "WHERE ranked.position <= ?2 ORDER BY ranked.item_id, ranked.position", nativeQuery = true)
+    List<CommentView> findLatestByItemIdIn(Collection<Long> itemIds, int limit);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = ?1 ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findByItemId(long itemId, Pageable pageable);
+
+    // "After" in the newest-first order of findByItemId, so older than the cursor comment.
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = ?1 AND (c.created < " +
+            "(SELECT a.created FROM Comment a WHERE a.id = ?2) OR (c.created = " +
+            "(SELECT a.created FROM Comment a WHERE a.id = ?2) AND c.id < ?2)) ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findByItemIdAfter(long itemId, int afterId, Pageable pageable);
+
+    boolean existsByIdAndItemId(int id, long itemId);
 }
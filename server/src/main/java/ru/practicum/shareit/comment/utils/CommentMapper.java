@@ -4,6 +4,7 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.model.CommentView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -13,11 +14,24 @@ import java.time.LocalDateTime;
 @Component
 public class CommentMapper {
     public CommentResponseDto toResponseDto(Comment comment, UserDto userDto) {
+        return toResponseDto(comment, userDto.getName());
+    }
+
+    public CommentResponseDto toResponseDto(Comment comment, String authorName) {
         return CommentResponseDto.builder()
                 .id(comment.getId())
                 .created(comment.getCreated())
                 .text(comment.getText())
-                .authorName(userDto.getName())
+                .authorName(authorName)
+                .build();
+    }
+
+    public CommentResponseDto toResponseDto(CommentView commentView) {
+        return CommentResponseDto.builder()
+                .id(commentView.getId())
+                .created(commentView.getCreated())
+                .text(commentView.getText())
+                .authorName(commentView.getAuthorName())
                 .build();
     }
 
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.comment.utils;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.comment.model.CommentView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class CommentUtils {
+    public Map<Long, List<CommentView>> groupByItemId(List<CommentView> comments) {
+        return comments.stream().collect(Collectors.groupingBy(CommentView::getItemId, Collectors.toList()));
+    }
+}
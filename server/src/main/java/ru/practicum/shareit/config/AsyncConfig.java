@@ -0,0 +1,51 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+    private final int maxConcurrentStreams;
+    private final int streamQueueCapacity;
+    private final int sseThreads;
+    private final int ssePendingDrains;
+
+    public AsyncConfig(@Value("${shareit.streams.max-concurrent:8}") int maxConcurrentStreams,
+                       @Value("${shareit.streams.queue-capacity:100}") int streamQueueCapacity,
+                       @Value("${shareit.sse.threads:8}") int sseThreads,
+                       @Value("${shareit.sse.pending-drains:10000}") int ssePendingDrains) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.streamQueueCapacity = streamQueueCapacity;
+        this.sseThreads = sseThreads;
+        this.ssePendingDrains = ssePendingDrains;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        return createExecutor(maxConcurrentStreams, streamQueueCapacity, "stream-");
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor sseTaskExecutor() {
+        return createExecutor(sseThreads, ssePendingDrains, "sse-");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(int threads, int queueCapacity, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.booking.status.BookingState;
+
+import java.util.Arrays;
+
+@Configuration
+public class MetricsConfig {
+    public static final String SERVICE_TIMER = "shareit.service";
+
+    private static final String STATE_TAG = "state";
+    private static final String NO_STATE = "NONE";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry, MetricsConfig::getTags);
+    }
+
+    private static Iterable<Tag> getTags(ProceedingJoinPoint joinPoint) {
+        String state = Arrays.stream(joinPoint.getArgs())
+                .filter(BookingState.class::isInstance)
+                .map(argument -> ((BookingState) argument).name())
+                .findFirst()
+                .orElse(NO_STATE);
+
+        return Tags.of(
+                "class", joinPoint.getStaticPart().getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getStaticPart().getSignature().getName(),
+                STATE_TAG, state);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.item.service.ItemCounterReconciler;
+import ru.practicum.shareit.outbox.service.OutboxRelay;
+import ru.practicum.shareit.outbox.service.SingleInstanceLock;
+
+@Configuration
+public class StartupConfig {
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledJobsExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(OutboxRelay.class, ItemCounterReconciler.class,
+                SingleInstanceLock.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit.startup.exit-on-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitOnReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
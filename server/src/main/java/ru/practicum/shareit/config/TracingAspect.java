@@ -0,0 +1,47 @@
+package ru.practicum.shareit.config;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+
+import java.util.Arrays;
+
+@Aspect
+@RequiredArgsConstructor
+public class TracingAspect {
+    private final Tracer tracer;
+
+    @Around("@within(io.micrometer.core.annotation.Timed)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint.getSignature().getDeclaringType().getSimpleName(), joinPoint);
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repositoryName = Arrays.stream(joinPoint.getTarget().getClass().getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(joinPoint.getSignature().getDeclaringType().getSimpleName());
+        return trace(repositoryName, joinPoint);
+    }
+
+    private Object trace(String typeName, ProceedingJoinPoint joinPoint) throws Throwable {
+        Span span = tracer.spanBuilder(typeName + "." + joinPoint.getSignature().getName()).startSpan();
+        try (Scope ignored = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
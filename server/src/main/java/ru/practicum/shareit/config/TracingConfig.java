@@ -0,0 +1,118 @@
+package ru.practicum.shareit.config;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.instrumentation.jdbc.datasource.JdbcTelemetry;
+import io.opentelemetry.instrumentation.spring.webmvc.v5_3.SpringWebMvcTelemetry;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.servlet.Filter;
+import javax.sql.DataSource;
+import java.util.List;
+
+// The SDK setup and the exporter choice are repeated in the other module because the two share no code.
+@Configuration
+@ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true")
+public class TracingConfig {
+    @Bean(destroyMethod = "close")
+    public OpenTelemetrySdk openTelemetry(@Value("${shareit.tracing.service-name}") String serviceName,
+                                          @Value("${shareit.tracing.exporter:none}") Exporter exporter,
+                                          @Value("${shareit.tracing.otlp-endpoint:http://localhost:4318/v1/traces}")
+                                          String otlpEndpoint,
+                                          @Value("${shareit.tracing.sampling-ratio:0.1}") double samplingRatio) {
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(SdkTracerProvider.builder()
+                        .setResource(Resource.getDefault().merge(Resource.create(
+                                Attributes.of(AttributeKey.stringKey("service.name"), serviceName))))
+                        .setSampler(Sampler.parentBased(new RequestRootSampler(samplingRatio)))
+                        .addSpanProcessor(BatchSpanProcessor.builder(createExporter(exporter, otlpEndpoint)).build())
+                        .build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public FilterRegistrationBean<Filter> tracingFilter(OpenTelemetry openTelemetry) {
+        FilterRegistrationBean<Filter> registration =
+                new FilterRegistrationBean<>(SpringWebMvcTelemetry.create(openTelemetry).createServletFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(OpenTelemetry openTelemetry) {
+        return new TracingAspect(openTelemetry.getTracer("shareit-server"));
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<OpenTelemetry> openTelemetry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    return JdbcTelemetry.create(openTelemetry.getObject()).wrap((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static SpanExporter createExporter(Exporter exporter, String otlpEndpoint) {
+        switch (exporter) {
+            case OTLP:
+                return OtlpHttpSpanExporter.builder().setEndpoint(otlpEndpoint).build();
+            case LOGGING:
+                return LoggingSpanExporter.create();
+            default:
+                return SpanExporter.composite();
+        }
+    }
+
+    private static class RequestRootSampler implements Sampler {
+        private final Sampler delegate;
+
+        RequestRootSampler(double samplingRatio) {
+            this.delegate = Sampler.traceIdRatioBased(samplingRatio);
+        }
+
+        @Override
+        public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                           Attributes attributes, List<LinkData> parentLinks) {
+            if (spanKind != SpanKind.SERVER) {
+                return SamplingResult.drop();
+            }
+            return delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+        }
+
+        @Override
+        public String getDescription() {
+            return "RequestRootSampler{" + delegate.getDescription() + "}";
+        }
+    }
+
+    public enum Exporter {
+        NONE, LOGGING, OTLP
+    }
+}
@@ -0,0 +1,291 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.shareit.booking.repository.BookingListingRepository;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.utils.DateUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+@UtilityClass
+@Slf4j
+public class DatasetGenerator {
+    private static final long PAST_SECONDS = Duration.ofDays(730).toSeconds();
+    private static final long FUTURE_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final long MAX_BOOKING_SECONDS = Duration.ofDays(7).toSeconds();
+    private static final long HOUR_SECONDS = Duration.ofHours(1).toSeconds();
+
+    /**
+     * Appends the dataset after the ids already in the database and rebuilds the booking listings. Needs only a
+     * {@link DataSource} whose schema is migrated, so tests and benchmarks can call it without a Spring context.
+     */
+    public static DatasetManifest generate(DataSource dataSource, DatasetSpec spec) throws SQLException {
+        LocalDateTime now = DateUtils.getCurrentTime().truncatedTo(ChronoUnit.SECONDS);
+        DatasetManifest.DatasetManifestBuilder manifest = DatasetManifest.builder();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+            Ids ids = new Ids(connection);
+            int[] itemOwners = sampleItemOwners(spec);
+            Counters counters = new Counters(spec.getItems());
+
+            forEachBooking(spec, now, itemOwners, counters::add);
+            writeUsers(connection, postgres, spec, ids);
+            writeRequests(connection, postgres, spec, ids, now);
+            writeItems(connection, postgres, spec, ids, itemOwners, counters, now);
+            writeBookings(connection, postgres, spec, ids, now, itemOwners);
+            writeComments(connection, postgres, spec, ids, now, itemOwners);
+            ids.restartIdentities(connection, postgres, spec, counters.comments);
+            connection.commit();
+            long listings = rebuildListings(connection);
+
+            Map<Long, Long> hotItems = new LinkedHashMap<>();
+            for (int item = 0; item < Math.min(spec.getHotItems(), spec.getItems()); item++) {
+                hotItems.put(ids.item + item, ids.user + itemOwners[item]);
+            }
+            manifest.firstUserId(ids.user)
+                    .lastUserId(ids.user + spec.getUsers() - 1)
+                    .firstOwnerId(ids.user)
+                    .lastOwnerId(ids.user + spec.getOwners() - 1)
+                    .firstItemId(ids.item)
+                    .lastItemId(ids.item + spec.getItems() - 1)
+                    .bookings(spec.getBookings())
+                    .comments(counters.comments)
+                    .listings(listings)
+                    .hotItems(hotItems);
+        }
+        return manifest.build();
+    }
+
+    private static int[] sampleItemOwners(DatasetSpec spec) {
+        ZipfDistribution owners = new ZipfDistribution(spec.getOwners(), spec.getOwnerSkew());
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        int[] itemOwners = new int[spec.getItems()];
+
+        for (int item = 0; item < itemOwners.length; item++) {
+            itemOwners[item] = owners.sample(random);
+        }
+        return itemOwners;
+    }
+
+    private static void writeUsers(Connection connection, boolean postgres, DatasetSpec spec, Ids ids)
+            throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() + 1);
+
+        try (RowWriter writer = RowWriter.open(connection, postgres, spec.getBatchSize(), "users",
+                "id", "name", "email")) {
+            for (int user = 0; user < spec.getUsers(); user++) {
+                long id = ids.user + user;
+                writer.write(id, Vocabulary.userName(random), "user" + id + "@shareit.dev");
+            }
+        }
+        connection.commit();
+        log.info("Generated {} users.", spec.getUsers());
+    }
+
+    private static void writeRequests(Connection connection, boolean postgres, DatasetSpec spec, Ids ids,
+                                      LocalDateTime now) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() + 2);
+
+        try (RowWriter writer = RowWriter.open(connection, postgres, spec.getBatchSize(), "requests",
+                "id", "description", "user_id", "created_time")) {
+            for (int request = 0; request < spec.getRequests(); request++) {
+                writer.write(ids.request + request, Vocabulary.requestDescription(random),
+                        ids.user + random.nextInt(spec.getUsers()), now.minusSeconds(random.nextLong(PAST_SECONDS)));
+            }
+        }
+        connection.commit();
+        log.info("Generated {} requests.", spec.getRequests());
+    }
+
+    private static void writeItems(Connection connection, boolean postgres, DatasetSpec spec, Ids ids,
+                                   int[] itemOwners, Counters counters, LocalDateTime now) throws SQLException {
+        SplittableRandom random = new SplittableRandom(spec.getSeed() + 3);
+
+        try (RowWriter writer = RowWriter.open(connection, postgres, spec.getBatchSize(), "items",
+                "id", "name", "description", "available", "owner_id", "request_id", "comment_count",
+                "approved_booking_count", "last_booked_at")) {
+            for (int item = 0; item < spec.getItems(); item++) {
+                boolean answersRequest = spec.getRequests() > 0 && random.nextDouble() < 0.1;
+                long requestId = ids.request + random.nextInt(Math.max(spec.getRequests(), 1));
+                boolean available = random.nextDouble() < 0.9 || item < spec.getHotItems();
+                writer.write(ids.item + item, Vocabulary.itemName(random), Vocabulary.itemDescription(random),
+                        available, ids.user + itemOwners[item], answersRequest ? requestId : null,
+                        counters.itemComments[item], counters.approvedBookings[item],
+                        counters.lastBookedAt[item] == Long.MIN_VALUE ? null
+                                : now.plusSeconds(counters.lastBookedAt[item]));
+            }
+        }
+        connection.commit();
+        log.info("Generated {} items.", spec.getItems());
+    }
+
+    private static void writeBookings(Connection connection, boolean postgres, DatasetSpec spec, Ids ids,
+                                      LocalDateTime now, int[] itemOwners) throws SQLException {
+        try (RowWriter writer = RowWriter.open(connection, postgres, spec.getBatchSize(), "bookings",
+                "id", "start_date", "end_date", "item_id", "booker_id", "status")) {
+            forEachBooking(spec, now, itemOwners, booking -> writer.write(ids.booking + booking.index,
+                    now.plusSeconds(booking.start), now.plusSeconds(booking.end), ids.item + booking.item,
+                    ids.user + booking.booker, booking.status.ordinal()));
+        }
+        connection.commit();
+        log.info("Generated {} bookings.", spec.getBookings());
+    }
+
+    private static void writeComments(Connection connection, boolean postgres, DatasetSpec spec, Ids ids,
+                                      LocalDateTime now, int[] itemOwners) throws SQLException {
+        long[] comment = {ids.comment};
+
+        try (RowWriter writer = RowWriter.open(connection, postgres, spec.getBatchSize(), "comments",
+                "id", "text", "item_id", "author_id", "created_time")) {
+            forEachBooking(spec, now, itemOwners, booking -> {
+                if (booking.commented) {
+                    writer.write(comment[0]++, Vocabulary.comment(booking.commentText), ids.item + booking.item,
+                            ids.user + booking.booker, now.plusSeconds(booking.commentCreated));
+                }
+            });
+        }
+        connection.commit();
+        log.info("Generated {} comments.", comment[0] - ids.comment);
+    }
+
+    private static long rebuildListings(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(BookingListingRepository.DELETE_ALL_LISTINGS);
+            long listings = statement.executeUpdate(BookingListingRepository.INSERT_ALL_FROM_BOOKINGS);
+            connection.commit();
+            log.info("Generated {} booking listings.", listings);
+            return listings;
+        }
+    }
+
+    private static void forEachBooking(DatasetSpec spec, LocalDateTime now, int[] itemOwners,
+                                       BookingConsumer consumer) throws SQLException {
+        ZipfDistribution items = new ZipfDistribution(spec.getItems(), spec.getItemSkew());
+        SplittableRandom random = new SplittableRandom(spec.getSeed() + 4);
+        BookingSample booking = new BookingSample();
+
+        for (long index = 0; index < spec.getBookings(); index++) {
+            booking.index = index;
+            booking.item = items.sample(random);
+            booking.booker = random.nextInt(spec.getUsers());
+            booking.start = random.nextLong(-PAST_SECONDS, FUTURE_SECONDS);
+            booking.end = booking.start + HOUR_SECONDS + random.nextLong(MAX_BOOKING_SECONDS);
+            double statusDraw = random.nextDouble();
+            double commentDraw = random.nextDouble();
+            long commentDelay = random.nextLong(MAX_BOOKING_SECONDS);
+            booking.commentText = random.nextInt(Vocabulary.commentCount());
+
+            if (booking.booker == itemOwners[booking.item]) {
+                booking.booker = (booking.booker + 1) % spec.getUsers();
+            }
+            if (booking.start > 0) {
+                booking.status = statusDraw < 0.3 ? BookingStatus.WAITING
+                        : statusDraw < 0.9 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            } else {
+                booking.status = statusDraw < 0.05 ? BookingStatus.WAITING
+                        : statusDraw < 0.9 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            }
+            booking.commented = booking.status == BookingStatus.APPROVED && booking.end < 0
+                    && commentDraw < spec.getCommentShare();
+            booking.commentCreated = Math.min(booking.end + commentDelay, 0);
+            consumer.accept(booking);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BookingConsumer {
+        void accept(BookingSample booking) throws SQLException;
+    }
+
+    private static class BookingSample {
+        private long index;
+        private int item;
+        private int booker;
+        private long start;
+        private long end;
+        private BookingStatus status;
+        private boolean commented;
+        private long commentCreated;
+        private int commentText;
+    }
+
+    private static class Counters {
+        private final long[] approvedBookings;
+        private final long[] lastBookedAt;
+        private final long[] itemComments;
+        private long comments;
+
+        Counters(int items) {
+            approvedBookings = new long[items];
+            lastBookedAt = new long[items];
+            itemComments = new long[items];
+            Arrays.fill(lastBookedAt, Long.MIN_VALUE);
+        }
+
+        void add(BookingSample booking) {
+            if (booking.status == BookingStatus.APPROVED) {
+                approvedBookings[booking.item]++;
+                lastBookedAt[booking.item] = Math.max(lastBookedAt[booking.item], booking.start);
+            }
+            if (booking.commented) {
+                itemComments[booking.item]++;
+                comments++;
+            }
+        }
+    }
+
+    private static class Ids {
+        private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+
+        private final long user;
+        private final long request;
+        private final long item;
+        private final long booking;
+        private final long comment;
+
+        Ids(Connection connection) throws SQLException {
+            user = nextId(connection, "users");
+            request = nextId(connection, "requests");
+            item = nextId(connection, "items");
+            booking = nextId(connection, "bookings");
+            comment = nextId(connection, "comments");
+        }
+
+        void restartIdentities(Connection connection, boolean postgres, DatasetSpec spec, long comments)
+                throws SQLException {
+            long[] next = {user + spec.getUsers(), request + spec.getRequests(), item + spec.getItems(),
+                    booking + spec.getBookings(), comment + comments};
+
+            try (Statement statement = connection.createStatement()) {
+                for (int i = 0; i < TABLES.length; i++) {
+                    statement.execute(postgres
+                            ? "SELECT setval(pg_get_serial_sequence('" + TABLES[i] + "', 'id'), " + next[i]
+                            + ", false)"
+                            : "ALTER TABLE " + TABLES[i] + " ALTER COLUMN id RESTART WITH " + next[i]);
+                }
+            }
+        }
+
+        private static long nextId(Connection connection, String table) throws SQLException {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+}
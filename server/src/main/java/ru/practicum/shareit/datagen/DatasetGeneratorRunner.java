@@ -0,0 +1,66 @@
+package ru.practicum.shareit.datagen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+@Component
+@ConditionalOnProperty(name = "shareit.datagen.enabled", havingValue = "true")
+@Slf4j
+public class DatasetGeneratorRunner implements ApplicationRunner {
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final DatasetSpec spec;
+    private final String manifest;
+
+    public DatasetGeneratorRunner(DataSource dataSource, ObjectMapper objectMapper,
+                                  @Value("${shareit.datagen.users}") int users,
+                                  @Value("${shareit.datagen.owners}") int owners,
+                                  @Value("${shareit.datagen.items}") int items,
+                                  @Value("${shareit.datagen.requests}") int requests,
+                                  @Value("${shareit.datagen.bookings}") long bookings,
+                                  @Value("${shareit.datagen.comment-share}") double commentShare,
+                                  @Value("${shareit.datagen.item-skew}") double itemSkew,
+                                  @Value("${shareit.datagen.owner-skew}") double ownerSkew,
+                                  @Value("${shareit.datagen.hot-items}") int hotItems,
+                                  @Value("${shareit.datagen.seed}") long seed,
+                                  @Value("${shareit.datagen.batch-size}") int batchSize,
+                                  @Value("${shareit.datagen.manifest:}") String manifest) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.spec = DatasetSpec.builder()
+                .users(users)
+                .owners(Math.min(owners, users))
+                .items(items)
+                .requests(requests)
+                .bookings(bookings)
+                .commentShare(commentShare)
+                .itemSkew(itemSkew)
+                .ownerSkew(ownerSkew)
+                .hotItems(hotItems)
+                .seed(seed)
+                .batchSize(batchSize)
+                .build();
+        this.manifest = manifest;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("Generating dataset {}.", spec);
+        long started = System.nanoTime();
+        DatasetManifest result = DatasetGenerator.generate(dataSource, spec);
+        log.info("Generated dataset in {} ms: {}.", (System.nanoTime() - started) / 1_000_000, result);
+
+        if (!manifest.isBlank()) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(manifest).toFile(), result);
+            log.info("Dataset manifest was written to {}.", manifest);
+        }
+    }
+}
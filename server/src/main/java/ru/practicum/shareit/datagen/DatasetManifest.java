@@ -0,0 +1,21 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+@Value
+@Builder
+public class DatasetManifest {
+    long firstUserId;
+    long lastUserId;
+    long firstOwnerId;
+    long lastOwnerId;
+    long firstItemId;
+    long lastItemId;
+    long bookings;
+    long comments;
+    long listings;
+    Map<Long, Long> hotItems;
+}
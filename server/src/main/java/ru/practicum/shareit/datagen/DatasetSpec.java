@@ -0,0 +1,20 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class DatasetSpec {
+    int users;
+    int owners;
+    int items;
+    int requests;
+    long bookings;
+    double commentShare;
+    double itemSkew;
+    double ownerSkew;
+    int hotItems;
+    long seed;
+    int batchSize;
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+
+abstract class RowWriter implements AutoCloseable {
+    abstract void write(Object... values) throws SQLException;
+
+    @Override
+    public abstract void close() throws SQLException;
+
+    static RowWriter open(Connection connection, boolean postgres, int batchSize, String table, String... columns)
+            throws SQLException {
+        String columnList = String.join(", ", columns);
+        if (postgres) {
+            return new CopyRowWriter(connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columnList + ") FROM STDIN WITH (FORMAT csv)"));
+        }
+        return new BatchRowWriter(connection, batchSize, connection.prepareStatement("INSERT INTO " + table
+                + " (" + columnList + ") VALUES (" + String.join(", ", Collections.nCopies(columns.length, "?"))
+                + ")"));
+    }
+
+    private static class CopyRowWriter extends RowWriter {
+        private static final int FLUSH_SIZE = 1 << 20;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_SIZE + 1024);
+
+        CopyRowWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        @Override
+        void write(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+
+            if (buffer.length() >= FLUSH_SIZE) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copyIn.endCopy();
+        }
+
+        private void appendValue(Object value) {
+            if (value instanceof String) {
+                buffer.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                buffer.append(value);
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    private static class BatchRowWriter extends RowWriter {
+        private final Connection connection;
+        private final int batchSize;
+        private final PreparedStatement statement;
+        private int batched;
+
+        BatchRowWriter(Connection connection, int batchSize, PreparedStatement statement) {
+            this.connection = connection;
+            this.batchSize = batchSize;
+            this.statement = statement;
+        }
+
+        @Override
+        void write(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+
+            if (++batched == batchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (batched > 0) {
+                statement.executeBatch();
+                connection.commit();
+                batched = 0;
+            }
+        }
+    }
+}
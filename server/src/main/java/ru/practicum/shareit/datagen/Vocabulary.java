@@ -0,0 +1,62 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+final class Vocabulary {
+    private static final int MAX_LENGTH = 50;
+    private static final List<String> FIRST_NAMES = List.of("Anna", "Boris", "Daria", "Egor", "Irina", "Kirill",
+            "Maria", "Nikita", "Olga", "Pavel", "Sofia", "Timur", "Vera", "Yuri", "Elena", "Artem");
+    private static final List<String> LAST_NAMES = List.of("Ivanov", "Petrova", "Smirnov", "Kuznetsova", "Popov",
+            "Sokolova", "Lebedev", "Kozlova", "Novikov", "Morozova", "Volkov", "Orlova");
+    private static final List<String> NOUNS = List.of("drill", "saw", "ladder", "tent", "bike", "kayak", "camera",
+            "projector", "hammer", "grill", "sander", "stroller", "snowboard", "telescope", "speaker", "mixer",
+            "vacuum", "heater", "compressor", "generator", "pressure washer", "sleeping bag", "tripod", "jigsaw",
+            "lawn mower", "paddle board", "car seat", "tile cutter", "welder", "scaffold");
+    private static final List<String> ADJECTIVES = List.of("cordless", "electric", "folding", "compact",
+            "heavy-duty", "portable", "vintage", "professional", "lightweight", "waterproof", "battery",
+            "two-person", "adjustable", "industrial", "kids", "inflatable", "digital", "manual", "large", "mini");
+    private static final List<String> PHRASES = List.of("in good condition", "barely used", "with spare parts",
+            "for weekend trips", "great for beginners", "comes with a case", "recently serviced",
+            "pick up downtown", "charger included", "minor scratches");
+    private static final List<String> COMMENTS = List.of("Worked perfectly, thanks!", "Exactly as described.",
+            "A bit worn but did the job.", "Owner was very helpful.", "Would rent again.",
+            "Battery died quickly.", "Great value for the weekend.", "Pick up was easy.");
+
+    private Vocabulary() {
+    }
+
+    static String userName(SplittableRandom random) {
+        return pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random);
+    }
+
+    static String itemName(SplittableRandom random) {
+        String adjective = pick(ADJECTIVES, random);
+        return truncate(Character.toUpperCase(adjective.charAt(0)) + adjective.substring(1) + " "
+                + pick(NOUNS, random));
+    }
+
+    static String itemDescription(SplittableRandom random) {
+        return truncate(pick(ADJECTIVES, random) + " " + pick(NOUNS, random) + ", " + pick(PHRASES, random));
+    }
+
+    static String requestDescription(SplittableRandom random) {
+        return truncate("Need a " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random));
+    }
+
+    static String comment(int index) {
+        return COMMENTS.get(index % COMMENTS.size());
+    }
+
+    static int commentCount() {
+        return COMMENTS.size();
+    }
+
+    private static String pick(List<String> words, SplittableRandom random) {
+        return words.get(random.nextInt(words.size()));
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_LENGTH ? value : value.substring(0, MAX_LENGTH);
+    }
+}
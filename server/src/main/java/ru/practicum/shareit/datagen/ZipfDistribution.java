@@ -0,0 +1,23 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+class ZipfDistribution {
+    private final double[] cumulative;
+
+    ZipfDistribution(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return index >= 0 ? index : -index - 1;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.exception;
+
+import ru.practicum.shareit.utils.CommonConstants;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String endpoint, int budget) {
+        super(String.format(CommonConstants.Exceptions.QUERY_BUDGET_EXCEEDED_EXCEPTION_MESSAGE, endpoint, budget));
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import javax.validation.ConstraintViolationException;
 import java.util.Map;
 
 @RestControllerAdvice
@@ -49,6 +51,20 @@ public class ShareitExceptionHandler {
         return Map.of("error", "Unknown parameter: {}" + e.getParameter().getParameterName());
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler
+    public Map<String, String> handleConstraintViolation(final ConstraintViolationException e) {
+        log.debug("Server got bad parameter: {}", e.getMessage());
+        return Map.of("error", e.getMessage());
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler
+    public Map<String, String> handleRejectedStream(final TaskRejectedException e) {
+        log.warn("Server rejected a stream: {}", e.getMessage());
+        return Map.of("error", "Too many concurrent streams");
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler
     public Map<String, String> handleUnprocessedExceptions(final Throwable e) {
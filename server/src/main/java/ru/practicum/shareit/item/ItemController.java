@@ -3,16 +3,23 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.querybudget.QueryBudget;
 import ru.practicum.shareit.utils.CommonConstants;
+import ru.practicum.shareit.utils.PagingUtils;
+import ru.practicum.shareit.utils.StreamingJsonWriter;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
@@ -20,9 +27,11 @@ import java.util.List;
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
+@Validated
 @Slf4j
 public class ItemController {
     private final ItemService itemService;
+    private final StreamingJsonWriter streamingJsonWriter;
 
     @PostMapping
     public ItemDto createItem(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
@@ -54,12 +63,25 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDto> getAllItems(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId) {
+    public ResponseEntity<StreamingResponseBody> getAllItems(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("GET-items (all) was called.");
-        return itemService.getAllItems(userId);
+        return streamingJsonWriter.<ItemDto>writeArray(accept, consumer -> itemService.streamAllItems(userId, consumer));
+    }
+
+    @GetMapping(params = "size")
+    @QueryBudget(4)
+    public List<ItemDto> getAllItems(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                     @RequestParam @Positive Integer size,
+                                     @RequestParam(required = false) Long after) {
+        log.info("GET-items (page) was called.");
+        return itemService.getAllItems(userId, after, PagingUtils.getPageRequest(from, size, after));
     }
 
     @GetMapping("/search")
+    @QueryBudget(1)
     public List<ItemDto> getAllAvailableItemsByText(@RequestParam String text,
                                                     @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
@@ -68,6 +90,15 @@ public class ItemController {
         return itemService.getAvailableItemsByText(text, userId, PageRequest.of(from, size));
     }
 
+    @GetMapping("/{itemId}/comments")
+    public List<CommentResponseDto> getComments(@PathVariable long itemId,
+                                                @RequestParam(required = false) @Positive Integer after,
+                                                @RequestParam(defaultValue = "10") @Positive
+                                                @Max(CommonConstants.MAX_COMMENTS_PAGE_SIZE) Integer size) {
+        log.info("GET-items (comments) was called.");
+        return itemService.getComments(itemId, after, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentResponseDto addComment(
             @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
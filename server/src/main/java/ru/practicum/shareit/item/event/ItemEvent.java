@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemEvent {
+    private ItemEventType type;
+    private long ownerId;
+    private ItemDto item;
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.event;
+
+public enum ItemEventType {
+    CREATED, UPDATED, DELETED
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
@@ -31,4 +32,20 @@ public class Item {
     @ManyToOne
     @JoinColumn(name = "request_id")
     private Request request;
+
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private long commentCount;
+
+    /**
+     * Approved bookings of the item, including those that have not started yet. The counter changes only when a
+     * booking is approved, never as time passes.
+     */
+    @Column(name = "approved_booking_count", insertable = false, updatable = false)
+    private long approvedBookingCount;
+
+    /**
+     * Latest start of an approved booking, which is in the future while such a booking is upcoming.
+     */
+    @Column(name = "last_booked_at", insertable = false, updatable = false)
+    private LocalDateTime lastBookedAt;
 }
@@ -2,21 +2,66 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utils.CommonConstants;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerIdOrderByIdAsc(long userId);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = CommonConstants.STREAM_FETCH_SIZE))
+    Stream<Item> streamByOwnerIdOrderByIdAsc(long userId);
+
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.request r LEFT JOIN FETCH r.requester WHERE i.owner.id = ?1 " +
+            "ORDER BY i.id")
+    List<Item> findByOwnerIdOrderByIdAsc(long userId, Pageable pageable);
 
-    @Query("SELECT i FROM Item i WHERE (LOWER(i.name) LIKE CONCAT('%', LOWER(?1), '%') OR LOWER(i.description) " +
+    @Query("SELECT i FROM Item i LEFT JOIN FETCH i.request r LEFT JOIN FETCH r.requester WHERE i.owner.id = ?1 " +
+            "AND i.id > ?2 ORDER BY i.id")
+    List<Item> findByOwnerIdAndIdGreaterThanOrderByIdAsc(long userId, long id, Pageable pageable);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner LEFT JOIN FETCH i.request r LEFT JOIN FETCH r.requester " +
+            "WHERE (LOWER(i.name) LIKE CONCAT('%', LOWER(?1), '%') OR LOWER(i.description) " +
             "LIKE CONCAT('%', LOWER(?1), '%')) AND i.available = ?2 ORDER BY i.id")
     List<Item> findByNameLikeIgnoreCaseOrDescriptionLikeIgnoreCaseAndAvailableOrderByIdDesc(String text,
                                                                                             boolean available, Pageable pageable);
 
+    @Query("SELECT i FROM Item i JOIN FETCH i.owner JOIN FETCH i.request r WHERE r.id IN ?1 ORDER BY r.createdTime")
     List<Item> findByRequestIdInOrderByRequestCreatedTimeAsc(Collection<Long> ids);
 
-    List<Item> findByRequestIdOrderByRequestCreatedTimeAsc(Long id);
+    @Modifying
+    @Query("UPDATE Item i SET i.commentCount = i.commentCount + 1 WHERE i.id = ?1")
+    void incrementCommentCount(long itemId);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.approvedBookingCount = i.approvedBookingCount + 1, i.lastBookedAt = " +
+            "CASE WHEN i.lastBookedAt IS NULL OR i.lastBookedAt < ?2 THEN ?2 ELSE i.lastBookedAt END WHERE i.id = ?1")
+    void incrementApprovedBookingCount(long itemId, LocalDateTime bookingStart);
+
+    @Query("SELECT COALESCE(MAX(i.id), 0) FROM Item i")
+    long findMaxId();
+
+    @Query("SELECT i.id FROM Item i WHERE i.id > ?1 AND i.id <= ?2 AND (" +
+            "i.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.item.id = i.id) OR " +
+            "i.approvedBookingCount <> (SELECT COUNT(b) FROM Booking b WHERE b.item.id = i.id AND b.status = ?3) OR " +
+            "COALESCE(i.lastBookedAt, ?4) <> COALESCE((SELECT MAX(b.start) FROM Booking b " +
+            "WHERE b.item.id = i.id AND b.status = ?3), ?4))")
+    List<Long> findIdsWithStaleCounters(long fromId, long toId, BookingStatus status, LocalDateTime never);
+
+    @Modifying
+    @Query("UPDATE Item i SET " +
+            "i.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.item.id = i.id), " +
+            "i.approvedBookingCount = (SELECT COUNT(b) FROM Booking b WHERE b.item.id = i.id AND b.status = ?2), " +
+            "i.lastBookedAt = (SELECT MAX(b.start) FROM Booking b WHERE b.item.id = i.id AND b.status = ?2) " +
+            "WHERE i.id IN ?1")
+    void recalculateCounters(Collection<Long> ids, BookingStatus status);
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.status.BookingStatus;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@Slf4j
+public class ItemCounterReconciler {
+    private static final LocalDateTime NEVER = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ItemCounterReconciler(ItemRepository itemRepository, TransactionTemplate transactionTemplate,
+                                 @Value("${shareit.items.counters.reconcile-batch-size:1000}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${shareit.items.counters.reconcile-cron}")
+    public int reconcile() {
+        long maxId = itemRepository.findMaxId();
+        int repaired = 0;
+
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            repaired += reconcileRange(fromId, fromId + batchSize);
+        }
+
+        if (repaired > 0) {
+            log.warn("Item counters drifted and were repaired for {} items.", repaired);
+        }
+        return repaired;
+    }
+
+    private int reconcileRange(long fromId, long toId) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            List<Long> staleIds = itemRepository.findIdsWithStaleCounters(fromId, toId, BookingStatus.APPROVED, NEVER);
+            if (!staleIds.isEmpty()) {
+                itemRepository.recalculateCounters(staleIds, BookingStatus.APPROVED);
+            }
+            return staleIds.size();
+        });
+        return repaired == null ? 0 : repaired;
+    }
+}
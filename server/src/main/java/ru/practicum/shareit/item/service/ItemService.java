@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemDto createItem(ItemRequestDto itemDto, long userId);
@@ -17,9 +18,13 @@ public interface ItemService {
 
     void deleteItem(long userId, long itemId);
 
-    List<ItemDto> getAllItems(long userId);
+    void streamAllItems(long userId, Consumer<ItemDto> consumer);
+
+    List<ItemDto> getAllItems(long userId, Long afterId, PageRequest pageRequest);
 
     List<ItemDto> getAvailableItemsByText(String text, long userId, PageRequest pageRequest);
 
+    List<CommentResponseDto> getComments(long itemId, Integer afterId, int size);
+
     CommentResponseDto addComment(Long userId, Long itemId, CommentRequestDto commentRequestDto);
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -9,34 +10,50 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.status.BookingStatus;
 import ru.practicum.shareit.booking.utils.BookingMapper;
+import ru.practicum.shareit.booking.utils.BookingUtils;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.model.CommentView;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.comment.utils.CommentMapper;
+import ru.practicum.shareit.comment.utils.CommentUtils;
+import ru.practicum.shareit.config.MetricsConfig;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.EntityNotValidException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.item.event.ItemEventType;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.utils.ItemMapper;
+import ru.practicum.shareit.outbox.model.OutboxAggregate;
+import ru.practicum.shareit.outbox.service.OutboxPublisher;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.request.dto.RequestAnswerEvent;
+import ru.practicum.shareit.request.service.RequestAnswerCache;
+import ru.practicum.shareit.request.service.RequestAnswerNotifier;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.utils.UserMapper;
+import ru.practicum.shareit.utils.BatchUtils;
+import ru.practicum.shareit.utils.CommonConstants;
 import ru.practicum.shareit.utils.DateUtils;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.toList;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
@@ -48,6 +65,10 @@ public class ItemServiceImpl implements ItemService {
     private final CommentMapper commentMapper;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final RequestAnswerCache requestAnswerCache;
+    private final RequestAnswerNotifier requestAnswerNotifier;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
     @Transactional
@@ -58,20 +79,34 @@ public class ItemServiceImpl implements ItemService {
         if (Objects.nonNull(itemRequestDto.getRequestId())) {
             Request request = requestRepository.findById(itemRequestDto.getRequestId()).orElseThrow(() -> new EntityNotFoundException("request", itemRequestDto.getRequestId()));
             item.setRequest(request);
+            requestAnswerCache.evictAfterCommit(request.getId());
         }
-        return itemMapper.toItemDto(itemRepository.save(item), userMapper.toUserDto(user));
+
+        Item newItem = itemRepository.save(item);
+        UserDto userDto = userMapper.toUserDto(user);
+        if (newItem.getRequest() != null) {
+            requestAnswerNotifier.publishAfterCommit(newItem.getRequest().getRequester().getId(),
+                    RequestAnswerEvent.builder()
+                            .requestId(newItem.getRequest().getId())
+                            .item(itemMapper.toRequestAnswerDto(newItem, userDto))
+                            .build());
+        }
+
+        ItemDto newItemDto = itemMapper.toItemDto(newItem, userDto);
+        publishEvent(ItemEventType.CREATED, newItemDto);
+        return newItemDto;
     }
 
     @Override
     public ItemDto readItem(long itemId, long requesterId) {
         Item item = getItem(itemId);
         Map<Item, List<Booking>> bookings = getBookings(List.of(item));
-        Map<Item, List<Comment>> comments = getComments(List.of(item));
+        Map<Long, List<CommentView>> comments = getComments(List.of(item));
 
         UserDto userDto = userMapper.toUserDto(item.getOwner());
         ItemDto itemDto = itemMapper.toItemDto(item, userDto);
         setBookings(itemDto, requesterId, bookings.get(item), DateUtils.getCurrentTime());
-        setComments(itemDto, comments.get(item));
+        setComments(itemDto, comments.get(item.getId()));
 
         return itemDto;
     }
@@ -91,36 +126,47 @@ public class ItemServiceImpl implements ItemService {
                 .description(itemDto.getDescription() == null || itemDto.getDescription().isBlank() ?
                         oldItem.getDescription() : itemDto.getDescription())
                 .available(Objects.requireNonNullElse(itemDto.getAvailable(), oldItem.getAvailable()))
+                .commentCount(oldItem.getCommentCount())
+                .approvedBookingCount(oldItem.getApprovedBookingCount())
+                .lastBookedAt(oldItem.getLastBookedAt())
                 .build();
 
         itemRepository.save(updatedItem);
-        return itemMapper.toItemDto(updatedItem, userMapper.toUserDto(user));
+        evictRequestAnswers(oldItem);
+
+        ItemDto updatedItemDto = itemMapper.toItemDto(updatedItem, userMapper.toUserDto(user));
+        publishEvent(ItemEventType.UPDATED, updatedItemDto);
+        return updatedItemDto;
     }
 
     @Override
     @Transactional
     public void deleteItem(long userId, long itemId) {
-        validateOwner(getUser(userId).getId(), getItem(itemId));
+        Item item = getItem(itemId);
+        validateOwner(getUser(userId).getId(), item);
         itemRepository.deleteById(itemId);
+        evictRequestAnswers(item);
+        publishEvent(ItemEventType.DELETED, itemMapper.toItemDto(item, userMapper.toUserDto(item.getOwner())));
     }
 
     @Override
-    public List<ItemDto> getAllItems(long userId) {
+    public void streamAllItems(long userId, Consumer<ItemDto> consumer) {
         UserDto userDto = userMapper.toUserDto(getUser(userId));
-        List<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(userId);
-        Map<Item, List<Comment>> comments = getComments(items);
-        Map<Item, List<Booking>> bookings = getBookings(items);
 
-        List<ItemDto> itemDtos = new ArrayList<>();
-        for (Item item : items) {
-            ItemDto itemDto = itemMapper.toItemDto(item, userDto);
-            setBookings(itemDto, userDto.getId(), bookings.get(item), DateUtils.getCurrentTime());
-            setComments(itemDto, comments.get(item));
-            itemDto.setComments(comments.getOrDefault(item,
-                    List.of()).stream().map(e -> commentMapper.toResponseDto(e, userDto)).collect(toList()));
-            itemDtos.add(itemDto);
+        try (Stream<Item> items = itemRepository.streamByOwnerIdOrderByIdAsc(userId)) {
+            BatchUtils.forEachBatch(items, CommonConstants.STREAM_BATCH_SIZE, batch -> {
+                toOwnerItemDtos(batch, userDto).forEach(consumer);
+                entityManager.clear();
+            });
         }
-        return itemDtos;
+    }
+
+    @Override
+    public List<ItemDto> getAllItems(long userId, Long afterId, PageRequest pageRequest) {
+        UserDto userDto = userMapper.toUserDto(getUser(userId));
+        List<Item> items = afterId == null ? itemRepository.findByOwnerIdOrderByIdAsc(userId, pageRequest) :
+                itemRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(userId, afterId, pageRequest);
+        return toOwnerItemDtos(items, userDto);
     }
 
     @Override
@@ -138,19 +184,51 @@ public class ItemServiceImpl implements ItemService {
         return itemDtos;
     }
 
+    @Override
+    public List<CommentResponseDto> getComments(long itemId, Integer afterId, int size) {
+        getItem(itemId);
+        if (afterId != null && !commentRepository.existsByIdAndItemId(afterId, itemId)) {
+            throw new EntityNotValidException("comment", "after");
+        }
+        List<Comment> comments = afterId == null ? commentRepository.findByItemId(itemId, PageRequest.ofSize(size)) :
+                commentRepository.findByItemIdAfter(itemId, afterId, PageRequest.ofSize(size));
+        return comments.stream()
+                .map(comment -> commentMapper.toResponseDto(comment, userMapper.toUserDto(comment.getAuthor())))
+                .collect(toList());
+    }
+
     @Override
     @Transactional
     public CommentResponseDto addComment(Long userId, Long itemId, CommentRequestDto commentRequestDto) {
-        User user = getUser(userId);
-        Item item = getItem(itemId);
+        LocalDateTime now = DateUtils.getCurrentTime();
+        Optional<String> authorName = bookingRepository.findCompletedBookerName(itemId, userId, now,
+                BookingStatus.APPROVED);
 
-        if (!bookingRepository.existsByItemIdAndBookerIdAndEndLessThanAndStatus(itemId, userId, DateUtils.getCurrentTime(),
-                BookingStatus.APPROVED)) {
+        if (authorName.isEmpty()) {
+            getUser(userId);
+            getItem(itemId);
             throw new EntityNotValidException("item", "bookings");
         }
 
-        return commentMapper.toResponseDto(commentRepository.save(
-                commentMapper.toComment(commentRequestDto, item, user, DateUtils.getCurrentTime())), userMapper.toUserDto(user));
+        Comment comment = commentRepository.save(commentMapper.toComment(commentRequestDto,
+                itemRepository.getReferenceById(itemId), userRepository.getReferenceById(userId), now));
+        itemRepository.incrementCommentCount(itemId);
+
+        return commentMapper.toResponseDto(comment, authorName.get());
+    }
+
+    private List<ItemDto> toOwnerItemDtos(List<Item> items, UserDto userDto) {
+        Map<Long, List<CommentView>> comments = getComments(items);
+        Map<Item, List<Booking>> bookings = getBookings(items);
+
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (Item item : items) {
+            ItemDto itemDto = itemMapper.toItemDto(item, userDto);
+            setBookings(itemDto, userDto.getId(), bookings.get(item), DateUtils.getCurrentTime());
+            setComments(itemDto, comments.get(item.getId()));
+            itemDtos.add(itemDto);
+        }
+        return itemDtos;
     }
 
     private User getUser(long userId) {
@@ -161,6 +239,20 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findById(itemId).orElseThrow(() -> new EntityNotFoundException("item", itemId));
     }
 
+    private void publishEvent(ItemEventType type, ItemDto itemDto) {
+        outboxPublisher.publish(OutboxAggregate.ITEM, itemDto.getId(), ItemEvent.builder()
+                .type(type)
+                .ownerId(itemDto.getOwner().getId())
+                .item(itemDto)
+                .build());
+    }
+
+    private void evictRequestAnswers(Item item) {
+        if (item.getRequest() != null) {
+            requestAnswerCache.evictAfterCommit(item.getRequest().getId());
+        }
+    }
+
     private void validateOwner(Long userId, Item item) {
         if (!Objects.equals(item.getOwner().getId(), userId)) {
             throw new EntityNotValidException("user", "id");
@@ -169,29 +261,28 @@ public class ItemServiceImpl implements ItemService {
 
     private void setBookings(ItemDto itemDto, Long requestUserId, List<Booking> bookings, LocalDateTime now) {
         if (Objects.equals(itemDto.getOwner().getId(), requestUserId)) {
-            Booking lastBooking = bookings == null ? null : bookings.stream().filter(booking -> !booking.getStart().isAfter(now)).reduce((first, second) -> second).orElse(null);
-
-            Booking nextBooking = bookings == null ? null : bookings.stream().filter(booking -> booking.getStart().isAfter(now)).findFirst().orElse(null);
+            Booking lastBooking = BookingUtils.findLastBooking(bookings, now);
+            Booking nextBooking = BookingUtils.findNextBooking(bookings, now);
 
             itemDto.setLastBooking(Objects.isNull(lastBooking) ? null : bookingMapper.toItemResponseDto(lastBooking, userMapper.toUserDto(lastBooking.getBooker())));
             itemDto.setNextBooking(Objects.isNull(nextBooking) ? null : bookingMapper.toItemResponseDto(nextBooking, userMapper.toUserDto(nextBooking.getBooker())));
         }
     }
 
-    private void setComments(ItemDto itemDto, List<Comment> comments) {
-        itemDto.setComments(comments == null ? List.of() : comments.stream().map(comment -> commentMapper.toResponseDto(comment, userMapper.toUserDto(comment.getAuthor()))).collect(toList()));
+    private void setComments(ItemDto itemDto, List<CommentView> comments) {
+        itemDto.setComments(comments == null ? List.of() : comments.stream().map(commentMapper::toResponseDto).collect(toList()));
     }
 
-    private Map<Item, List<Comment>> getComments(List<Item> items) {
-        return commentRepository.findByItemIn(items, Sort.by(Sort.Direction.DESC, "created"))
-                .stream()
-                .collect(Collectors.groupingBy(Comment::getItem, toList()));
+    private Map<Long, List<CommentView>> getComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        return CommentUtils.groupByItemId(commentRepository.findLatestByItemIdIn(
+                items.stream().map(Item::getId).collect(toList()), CommonConstants.LATEST_COMMENTS_LIMIT));
     }
 
     private Map<Item, List<Booking>> getBookings(List<Item> items) {
-        return bookingRepository.findByItemInAndStatus(items,
-                        Sort.by(Sort.Direction.ASC, "start"), BookingStatus.APPROVED)
-                .stream()
-                .collect(Collectors.groupingBy(Booking::getItem, toList()));
+        return BookingUtils.groupByItem(bookingRepository.findByItemInAndStatus(items,
+                Sort.by(Sort.Direction.ASC, "start"), BookingStatus.APPROVED));
     }
 }
\ No newline at end of file
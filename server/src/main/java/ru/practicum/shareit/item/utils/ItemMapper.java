@@ -10,6 +10,20 @@ import ru.practicum.shareit.user.model.User;
 @Component
 public class ItemMapper {
     public ItemDto toItemDto(Item item, UserDto userDto) {
+        return ItemDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .owner(userDto)
+                .requestId(item.getRequest() == null ? null : item.getRequest().getId())
+                .commentCount(item.getCommentCount())
+                .approvedBookingCount(item.getApprovedBookingCount())
+                .lastBookedAt(item.getLastBookedAt())
+                .build();
+    }
+
+    public ItemDto toRequestAnswerDto(Item item, UserDto userDto) {
         return ItemDto.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+public abstract class BatchedBackfillMigration implements JavaMigration {
+    private final MigrationVersion version;
+    private final String description;
+    private final String table;
+    private final String updateSql;
+    private final int batchSize;
+
+    protected BatchedBackfillMigration(String version, String description, String table, String updateSql,
+                                       int batchSize) {
+        this.version = MigrationVersion.fromVersion(version);
+        this.description = description;
+        this.table = table;
+        this.updateSql = updateSql;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return updateSql.hashCode();
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+
+        try (PreparedStatement statement = connection.prepareStatement(updateSql)) {
+            long maxId = findMaxId(connection);
+            long updated = 0;
+
+            for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+                statement.setLong(1, fromId);
+                statement.setLong(2, fromId + batchSize);
+                updated += statement.executeUpdate();
+            }
+            log.info("Backfill {} updated {} rows of {} in batches of {}.", description, updated, table, batchSize);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long findMaxId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.migration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.repository.BookingListingRepository;
+
+@Component
+public class BookingListingBackfillMigration extends BatchedBackfillMigration {
+    public BookingListingBackfillMigration(@Value("${shareit.bookings.listings.batch-size:1000}") int batchSize) {
+        super("5", "booking listings", "bookings",
+                BookingListingRepository.INSERT_ALL_FROM_BOOKINGS + " WHERE b.id > ? AND b.id <= ? " +
+                        "AND NOT EXISTS (SELECT 1 FROM booking_listings l WHERE l.booking_id = b.id)",
+                batchSize);
+    }
+}
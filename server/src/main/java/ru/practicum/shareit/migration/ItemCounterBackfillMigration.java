@@ -0,0 +1,22 @@
+package ru.practicum.shareit.migration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.status.BookingStatus;
+
+@Component
+public class ItemCounterBackfillMigration extends BatchedBackfillMigration {
+    private static final String APPROVED = "'" + BookingStatus.APPROVED.ordinal() + "'";
+
+    public ItemCounterBackfillMigration(@Value("${shareit.items.counters.reconcile-batch-size:1000}") int batchSize) {
+        super("3", "item counters", "items",
+                "UPDATE items SET " +
+                        "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id), " +
+                        "approved_booking_count = (SELECT COUNT(*) FROM bookings b " +
+                        "WHERE b.item_id = items.id AND b.status = " + APPROVED + "), " +
+                        "last_booked_at = (SELECT MAX(b.start_date) FROM bookings b " +
+                        "WHERE b.item_id = items.id AND b.status = " + APPROVED + ") " +
+                        "WHERE id > ? AND id <= ?",
+                batchSize);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type")
+    private OutboxAggregate aggregateType;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(name = "event_type")
+    private String eventType;
+
+    private String payload;
+
+    @Column(name = "created_time")
+    private LocalDateTime createdTime;
+
+    private int attempts;
+
+    @Column(name = "parked_time")
+    private LocalDateTime parkedTime;
+}
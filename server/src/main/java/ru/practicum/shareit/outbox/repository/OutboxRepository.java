@@ -0,0 +1,16 @@
+package ru.practicum.shareit.outbox.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query(value = "SELECT * FROM outbox_events WHERE parked_time IS NULL ORDER BY id LIMIT ?1 " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatchSkipLocked(int limit);
+
+    @Query(value = "SELECT * FROM outbox_events WHERE parked_time IS NULL ORDER BY id LIMIT ?1 FOR UPDATE", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(int limit);
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.outbox.service;
+
+public interface OutboxConsumer<T> {
+    Class<T> getEventType();
+
+    void consume(T event);
+}
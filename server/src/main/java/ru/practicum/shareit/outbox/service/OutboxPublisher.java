@@ -0,0 +1,38 @@
+package ru.practicum.shareit.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.outbox.model.OutboxAggregate;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.repository.OutboxRepository;
+import ru.practicum.shareit.utils.DateUtils;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxAggregate aggregateType, long aggregateId, Object event) {
+        eventPublisher.publishEvent(event);
+        try {
+            outboxRepository.save(OutboxEvent.builder()
+                    .aggregateType(aggregateType)
+                    .aggregateId(aggregateId)
+                    .eventType(event.getClass().getSimpleName())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .createdTime(DateUtils.getCurrentTime())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Outbox event " + event.getClass().getSimpleName()
+                    + " could not be serialized", e);
+        }
+    }
+}
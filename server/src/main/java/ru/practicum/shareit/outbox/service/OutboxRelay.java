@@ -0,0 +1,129 @@
+package ru.practicum.shareit.outbox.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.repository.OutboxRepository;
+import ru.practicum.shareit.utils.DateUtils;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class OutboxRelay {
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, List<OutboxConsumer<?>>> consumers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final boolean skipLocked;
+    private final Counter failures;
+    private final Counter parked;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxRepository outboxRepository, TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper, MeterRegistry meterRegistry, List<OutboxConsumer<?>> consumers,
+                       DataSource dataSource,
+                       @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                       @Value("${shareit.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${shareit.outbox.skip-locked:#{null}}") @Nullable Boolean skipLocked) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.consumers = consumers.stream()
+                .collect(Collectors.groupingBy(consumer -> consumer.getEventType().getSimpleName()));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.skipLocked = skipLocked != null ? skipLocked : supportsSkipLocked(dataSource);
+        this.failures = meterRegistry.counter("shareit.outbox.failures");
+        this.parked = meterRegistry.counter("shareit.outbox.parked");
+        this.lag = Timer.builder("shareit.outbox.lag")
+                .description("Time between an outbox event commit and its dispatch")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.poll-interval-ms:500}")
+    public void relay() {
+        int settled;
+        do {
+            Integer batch = transactionTemplate.execute(status -> dispatchNextBatch());
+            settled = batch == null ? 0 : batch;
+        } while (settled == batchSize);
+    }
+
+    private int dispatchNextBatch() {
+        List<OutboxEvent> batch = skipLocked ? outboxRepository.lockNextBatchSkipLocked(batchSize)
+                : outboxRepository.lockNextBatch(batchSize);
+        List<Long> dispatchedIds = new ArrayList<>(batch.size());
+        int settled = 0;
+
+        for (OutboxEvent event : batch) {
+            try {
+                dispatch(event);
+            } catch (JsonProcessingException | RuntimeException e) {
+                failures.increment();
+                event.setAttempts(event.getAttempts() + 1);
+                if (event.getAttempts() < maxAttempts) {
+                    log.warn("Outbox event {} could not be dispatched and will be retried.", event.getId(), e);
+                    break;
+                }
+                log.error("Outbox event {} failed {} times and was parked.", event.getId(), event.getAttempts(), e);
+                event.setParkedTime(DateUtils.getCurrentTime());
+                parked.increment();
+                settled++;
+                continue;
+            }
+            settled++;
+            dispatchedIds.add(event.getId());
+            lag.record(Duration.between(event.getCreatedTime(), DateUtils.getCurrentTime()));
+            meterRegistry.counter("shareit.outbox.dispatched", "aggregate", event.getAggregateType().name(),
+                    "type", event.getEventType()).increment();
+        }
+
+        if (!dispatchedIds.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(dispatchedIds);
+        }
+        return settled;
+    }
+
+    private void dispatch(OutboxEvent event) throws JsonProcessingException {
+        for (OutboxConsumer<?> consumer : consumers.getOrDefault(event.getEventType(), List.of())) {
+            consume(consumer, event.getPayload());
+        }
+    }
+
+    private <T> void consume(OutboxConsumer<T> consumer, String payload) throws JsonProcessingException {
+        consumer.consume(objectMapper.readValue(payload, consumer.getEventType()));
+    }
+
+    private static boolean supportsSkipLocked(DataSource dataSource) {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database, the outbox falls back to FOR UPDATE.", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.outbox.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps a second server from running against the same PostgreSQL database. The outbox relay delivers each event to
+ * one server only, and booking event streams keep their history in memory, so subscribers of another server would
+ * miss events and could not resume. The embedded H2 file database already refuses a second process.
+ */
+@Component
+@Slf4j
+public class SingleInstanceLock implements DisposableBean {
+    private static final long LOCK_KEY = 5_348_415_245_495_454L;
+
+    private final Connection connection;
+
+    public SingleInstanceLock(DataSource dataSource) throws SQLException {
+        if (!isPostgres(dataSource)) {
+            connection = null;
+            return;
+        }
+
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+            resultSet.next();
+            if (!resultSet.getBoolean(1)) {
+                throw new IllegalStateException("Another server already runs against this database, " +
+                        "only one server instance is supported");
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        log.info("Acquired the single instance lock.");
+    }
+
+    @Override
+    public void destroy() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+        } finally {
+            connection.close();
+        }
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            return "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName));
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database, the single instance lock is not taken.", e);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.querybudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-budget.enabled", havingValue = "true")
+public class QueryBudgetConfig {
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    @Bean
+    public QueryBudgetInterceptor queryBudgetInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry,
+                                                         @Value("${shareit.sql-budget.mode:log}") QueryBudgetMode mode,
+                                                         @Value("${shareit.sql-budget.sampling-ratio:0.1}")
+                                                         double samplingRatio,
+                                                         @Value("${shareit.sql-budget.default-budget:20}")
+                                                         int defaultBudget) {
+        return new QueryBudgetInterceptor(queryCounter, meterRegistry, mode, samplingRatio, defaultBudget);
+    }
+
+    @Bean
+    public WebMvcConfigurer queryBudgetConfigurer(QueryBudgetInterceptor queryBudgetInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(queryBudgetInterceptor);
+            }
+        };
+    }
+}
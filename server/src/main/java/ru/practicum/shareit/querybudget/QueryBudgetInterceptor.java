@@ -0,0 +1,87 @@
+package ru.practicum.shareit.querybudget;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetMode mode;
+    private final double samplingRatio;
+    private final int defaultBudget;
+
+    public QueryBudgetInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry, QueryBudgetMode mode,
+                                  double samplingRatio, int defaultBudget) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+        this.samplingRatio = samplingRatio;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || !isSampled()) {
+            return true;
+        }
+        QueryBudget queryBudget = ((HandlerMethod) handler).getMethodAnnotation(QueryBudget.class);
+        queryCounter.start(request.getMethod() + " " + getUri(request),
+                queryBudget == null ? defaultBudget : queryBudget.value(), mode);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        complete(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        complete(request);
+    }
+
+    private boolean isSampled() {
+        return mode == QueryBudgetMode.FAIL || ThreadLocalRandom.current().nextDouble() < samplingRatio;
+    }
+
+    private void complete(HttpServletRequest request) {
+        QueryCounter.Scope scope = queryCounter.stop();
+        if (scope == null) {
+            return;
+        }
+        String uri = getUri(request);
+
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("SQL statements issued per sampled HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getCount());
+
+        if (scope.isExceeded()) {
+            meterRegistry.counter("shareit.sql.budget.exceeded", "method", request.getMethod(), "uri", uri)
+                    .increment();
+            Map.Entry<String, Integer> mostRepeated = scope.getMostRepeated();
+            log.warn("{} issued {} SQL statements over its budget of {}, most repeated ({} times): {}",
+                    scope.getEndpoint(), scope.getCount(), scope.getBudget(), mostRepeated.getValue(),
+                    mostRepeated.getKey());
+        }
+    }
+
+    private static String getUri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.querybudget;
+
+public enum QueryBudgetMode {
+    LOG, FAIL
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.querybudget;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.exception.QueryBudgetExceededException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class QueryCounter implements StatementInspector {
+    private final ThreadLocal<Scope> scope = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Scope current = scope.get();
+
+        if (current != null) {
+            current.count(sql);
+        }
+        return sql;
+    }
+
+    public void start(String endpoint, int budget, QueryBudgetMode mode) {
+        scope.set(new Scope(endpoint, budget, mode));
+    }
+
+    @Nullable
+    public Scope stop() {
+        Scope current = scope.get();
+        scope.remove();
+        return current;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Scope {
+        private final String endpoint;
+        private final int budget;
+        private final QueryBudgetMode mode;
+        private final Map<String, Integer> statements = new HashMap<>();
+        private int count;
+
+        public boolean isExceeded() {
+            return count > budget;
+        }
+
+        public Map.Entry<String, Integer> getMostRepeated() {
+            return statements.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+
+        private void count(String sql) {
+            count++;
+            statements.merge(sql, 1, Integer::sum);
+
+            if (mode == QueryBudgetMode.FAIL && isExceeded()) {
+                throw new QueryBudgetExceededException(endpoint, budget);
+            }
+        }
+    }
+}
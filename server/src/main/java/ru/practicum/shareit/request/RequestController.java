@@ -2,13 +2,20 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.querybudget.QueryBudget;
 import ru.practicum.shareit.request.dto.RequestRequestDto;
 import ru.practicum.shareit.request.dto.RequestResponseDto;
 import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.utils.CommonConstants;
+import ru.practicum.shareit.utils.PagingUtils;
+import ru.practicum.shareit.utils.StreamingJsonWriter;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -22,6 +29,7 @@ import java.util.List;
 @Slf4j
 public class RequestController {
     private final RequestService requestService;
+    private final StreamingJsonWriter streamingJsonWriter;
 
     @PostMapping
     public RequestResponseDto createRequest(
@@ -39,17 +47,38 @@ public class RequestController {
 
 
     @GetMapping
-    public List<RequestResponseDto> getAllRequestsByUser(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId) {
+    public ResponseEntity<StreamingResponseBody> getAllRequestsByUser(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("GET-requests (all-by-user) was called.");
-        return requestService.getAllRequestsByUser(userId);
+        return streamingJsonWriter.<RequestResponseDto>writeArray(accept,
+                consumer -> requestService.streamAllRequestsByUser(userId, consumer));
+    }
+
+    @GetMapping(params = "size")
+    public List<RequestResponseDto> getAllRequestsByUser(
+            @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+            @RequestParam @Positive Integer size,
+            @RequestParam(required = false) Long after) {
+        log.info("GET-requests (page-by-user) was called.");
+        return requestService.getAllRequestsByUser(userId, after, PagingUtils.getPageRequest(from, size, after));
+    }
+
+    @GetMapping(path = "/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToAnswers(@RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId) {
+        log.info("GET-requests (subscribe) was called.");
+        return requestService.subscribeToAnswers(userId);
     }
 
     @GetMapping("/all")
+    @QueryBudget(3)
     public List<RequestResponseDto> getAllRequests(
             @RequestHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER) long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10") @Positive Integer size) {
+            @RequestParam(defaultValue = "10") @Positive Integer size,
+            @RequestParam(required = false) Long after) {
         log.info("GET-requests (all) was called.");
-        return requestService.getAllRequests(PageRequest.of(from, size), userId);
+        return requestService.getAllRequests(userId, after, PagingUtils.getPageRequest(from, size, after));
     }
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.*;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestAnswerEvent {
+    private Long requestId;
+    private ItemDto item;
+}
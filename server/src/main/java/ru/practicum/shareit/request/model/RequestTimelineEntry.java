@@ -0,0 +1,12 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class RequestTimelineEntry {
+    long id;
+    long requesterId;
+    LocalDateTime createdTime;
+}
@@ -2,12 +2,43 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.model.RequestTimelineEntry;
+import ru.practicum.shareit.utils.CommonConstants;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
-    List<Request> findByRequesterIdNot(Long id, Pageable pageable);
+    @Query("SELECT r FROM Request r JOIN FETCH r.requester WHERE r.requester.id <> ?1 ORDER BY r.createdTime DESC, r.id DESC")
+    List<Request> findFeed(Long id, Pageable pageable);
+
+    @Query("SELECT r FROM Request r JOIN FETCH r.requester WHERE r.requester.id <> ?1 AND (r.createdTime < " +
+            "(SELECT a.createdTime FROM Request a WHERE a.id = ?2) OR (r.createdTime = " +
+            "(SELECT a.createdTime FROM Request a WHERE a.id = ?2) AND r.id < ?2)) ORDER BY r.createdTime DESC, r.id DESC")
+    List<Request> findFeedBefore(Long id, Long beforeId, Pageable pageable);
+
+    @Query("SELECT r FROM Request r JOIN FETCH r.requester WHERE r.id IN ?1")
+    List<Request> findWithRequesterByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = CommonConstants.STREAM_FETCH_SIZE))
+    @Query("SELECT new ru.practicum.shareit.request.model.RequestTimelineEntry(r.id, r.requester.id, r.createdTime) " +
+            "FROM Request r")
+    Stream<RequestTimelineEntry> streamTimeline();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = CommonConstants.STREAM_FETCH_SIZE))
+    Stream<Request> streamByRequesterIdOrderByCreatedTimeAsc(Long id);
+
+    List<Request> findByRequesterIdOrderByCreatedTimeAscIdAsc(Long id, Pageable pageable);
 
-    List<Request> findByRequesterIdOrderByCreatedTimeAsc(Long id);
+    @Query("SELECT r FROM Request r WHERE r.requester.id = ?1 AND (r.createdTime > " +
+            "(SELECT a.createdTime FROM Request a WHERE a.id = ?2) OR (r.createdTime = " +
+            "(SELECT a.createdTime FROM Request a WHERE a.id = ?2) AND r.id > ?2)) ORDER BY r.createdTime, r.id")
+    List<Request> findByRequesterIdAfter(Long id, Long afterId, Pageable pageable);
 }
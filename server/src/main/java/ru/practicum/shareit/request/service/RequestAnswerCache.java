@@ -0,0 +1,75 @@
+package ru.practicum.shareit.request.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.utils.TransactionUtils;
+
+import java.util.*;
+import java.util.function.Function;
+
+@Component
+public class RequestAnswerCache {
+    private final Map<Long, List<ItemDto>> answers;
+    private long generation;
+
+    public RequestAnswerCache(@Value("${shareit.requests.answer-cache.max-size:10000}") int maxSize) {
+        this.answers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<ItemDto>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Map<Long, List<ItemDto>> getAll(Collection<Long> requestIds,
+                                           Function<Set<Long>, Map<Long, List<ItemDto>>> loader) {
+        Map<Long, List<ItemDto>> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        long loadGeneration;
+
+        synchronized (answers) {
+            loadGeneration = generation;
+            for (Long requestId : requestIds) {
+                List<ItemDto> cached = answers.get(requestId);
+                if (cached == null) {
+                    missing.add(requestId);
+                } else {
+                    result.put(requestId, cached);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<Long, List<ItemDto>> loaded = loader.apply(missing);
+            synchronized (answers) {
+                for (Long requestId : missing) {
+                    List<ItemDto> items = List.copyOf(loaded.getOrDefault(requestId, List.of()));
+                    result.put(requestId, items);
+                    if (generation == loadGeneration) {
+                        answers.put(requestId, items);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public void evictAfterCommit(Long requestId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (answers) {
+                generation++;
+                answers.remove(requestId);
+            }
+        });
+    }
+
+    public void clearAfterCommit() {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (answers) {
+                generation++;
+                answers.clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.request.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.request.dto.RequestAnswerEvent;
+import ru.practicum.shareit.utils.SseHub;
+import ru.practicum.shareit.utils.TransactionUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+public class RequestAnswerNotifier {
+    private static final String ANSWER_EVENT = "answer";
+
+    private final SseHub<Long> sseHub;
+
+    public RequestAnswerNotifier(@Qualifier("sseTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${shareit.requests.answers.timeout:30m}") Duration timeout,
+                                 @Value("${shareit.requests.answers.queue-capacity:32}") int queueCapacity) {
+        this.sseHub = new SseHub<>(taskExecutor, timeout, queueCapacity);
+    }
+
+    public SseEmitter subscribe(long userId) {
+        return sseHub.subscribe(userId, List.of());
+    }
+
+    public void publishAfterCommit(long requesterId, RequestAnswerEvent event) {
+        TransactionUtils.afterCommit(() -> sseHub.send(requesterId, SseEmitter.event()
+                .name(ANSWER_EVENT)
+                .id(String.valueOf(event.getItem().getId()))
+                .data(event)));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.requests.answers.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        sseHub.sendHeartbeats();
+    }
+}
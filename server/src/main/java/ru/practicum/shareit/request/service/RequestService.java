@@ -1,17 +1,23 @@
 package ru.practicum.shareit.request.service;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.RequestRequestDto;
 import ru.practicum.shareit.request.dto.RequestResponseDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RequestService {
     RequestResponseDto createRequest(RequestRequestDto requestDto, long userId);
 
     RequestResponseDto readRequest(long requestId, long userId);
 
-    List<RequestResponseDto> getAllRequests(PageRequest pageRequest, long userId);
+    List<RequestResponseDto> getAllRequests(long userId, Long afterId, PageRequest pageRequest);
 
-    List<RequestResponseDto> getAllRequestsByUser(long userId);
+    void streamAllRequestsByUser(long userId, Consumer<RequestResponseDto> consumer);
+
+    List<RequestResponseDto> getAllRequestsByUser(long userId, Long afterId, PageRequest pageRequest);
+
+    SseEmitter subscribeToAnswers(long userId);
 }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.config.MetricsConfig;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -15,17 +18,22 @@ import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.request.utils.RequestMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.utils.UserMapper;
+import ru.practicum.shareit.utils.BatchUtils;
+import ru.practicum.shareit.utils.CommonConstants;
 import ru.practicum.shareit.utils.DateUtils;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional(readOnly = true)
 public class RequestServiceImpl implements RequestService {
     private final UserRepository userRepository;
@@ -33,8 +41,13 @@ public class RequestServiceImpl implements RequestService {
     private final RequestRepository requestRepository;
     private final ItemMapper itemMapper;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final RequestTimeline requestTimeline;
+    private final RequestAnswerCache requestAnswerCache;
+    private final RequestAnswerNotifier requestAnswerNotifier;
 
     @Override
+    @Transactional
     public RequestResponseDto createRequest(RequestRequestDto requestDto, long userId) {
         User user = checkAndReturnUser(userId);
         Request itemRequest = RequestMapper.toItemRequest(requestDto);
@@ -42,9 +55,10 @@ public class RequestServiceImpl implements RequestService {
         itemRequest.setCreatedTime(DateUtils.getCurrentTime());
         itemRequest.setRequester(user);
 
-        return RequestMapper.toResponseDto(
-                requestRepository.save(itemRequest), userMapper.toUserDto(user), new ArrayList<>()
-        );
+        Request newRequest = requestRepository.save(itemRequest);
+        requestTimeline.appendAfterCommit(newRequest);
+
+        return RequestMapper.toResponseDto(newRequest, userMapper.toUserDto(user), new ArrayList<>());
     }
 
     @Override
@@ -59,27 +73,48 @@ public class RequestServiceImpl implements RequestService {
     }
 
     @Override
-    public List<RequestResponseDto> getAllRequests(PageRequest pageRequest, long userId) {
+    public List<RequestResponseDto> getAllRequests(long userId, Long afterId, PageRequest pageRequest) {
         checkAndReturnUser(userId);
 
-        List<Request> itemRequests = requestRepository.findByRequesterIdNot(userId, pageRequest);
+        List<Request> itemRequests = requestTimeline.findPage(userId, afterId, pageRequest)
+                .map(this::getRequestsInOrder)
+                .orElseGet(() -> afterId == null ? requestRepository.findFeed(userId, pageRequest) :
+                        requestRepository.findFeedBefore(userId, afterId, pageRequest));
 
         Map<Long, List<ItemDto>> itemsMap =
                 getItemsMapIdToItemDtoList(itemRequests.stream().map(Request::getId).collect(Collectors.toSet()));
 
-        return itemRequests.stream().map(itemRequest -> RequestMapper.toResponseDto(itemRequest, userMapper.toUserDto(itemRequest.getRequester()), itemsMap.get(itemRequest.getId()))
+        return itemRequests.stream().map(itemRequest -> RequestMapper.toResponseDto(itemRequest, userMapper.toUserDto(itemRequest.getRequester()), itemsMap.getOrDefault(itemRequest.getId(), List.of()))
         ).collect(Collectors.toList());
     }
 
     @Override
-    public List<RequestResponseDto> getAllRequestsByUser(long userId) {
-        User user = checkAndReturnUser(userId);
-        List<Request> itemRequests = requestRepository.findByRequesterIdOrderByCreatedTimeAsc(userId);
+    public void streamAllRequestsByUser(long userId, Consumer<RequestResponseDto> consumer) {
+        UserDto userDto = userMapper.toUserDto(checkAndReturnUser(userId));
+
+        try (Stream<Request> itemRequests = requestRepository.streamByRequesterIdOrderByCreatedTimeAsc(userId)) {
+            BatchUtils.forEachBatch(itemRequests, CommonConstants.STREAM_BATCH_SIZE, batch -> {
+                toOwnRequestDtos(batch, userDto).forEach(consumer);
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Override
+    public List<RequestResponseDto> getAllRequestsByUser(long userId, Long afterId, PageRequest pageRequest) {
+        UserDto userDto = userMapper.toUserDto(checkAndReturnUser(userId));
+        List<Request> itemRequests = afterId == null ?
+                requestRepository.findByRequesterIdOrderByCreatedTimeAscIdAsc(userId, pageRequest) :
+                requestRepository.findByRequesterIdAfter(userId, afterId, pageRequest);
+        return toOwnRequestDtos(itemRequests, userDto);
+    }
 
+    private List<RequestResponseDto> toOwnRequestDtos(List<Request> itemRequests, UserDto userDto) {
         Map<Long, List<ItemDto>> itemsMap =
                 getItemsMapIdToItemDtoList(itemRequests.stream().map(Request::getId).collect(Collectors.toSet()));
 
-        return itemRequests.stream().map(itemRequest -> RequestMapper.toResponseDto(itemRequest, userMapper.toUserDto(user), itemsMap.getOrDefault(itemRequest.getId(), List.of()))).collect(Collectors.toList());
+        return itemRequests.stream().map(itemRequest -> RequestMapper.toResponseDto(itemRequest, userDto,
+                itemsMap.getOrDefault(itemRequest.getId(), List.of()))).collect(Collectors.toList());
     }
 
     private User checkAndReturnUser(long userId) {
@@ -87,16 +122,33 @@ public class RequestServiceImpl implements RequestService {
                 .orElseThrow(() -> new EntityNotFoundException("user", userId));
     }
 
+    @Override
+    public SseEmitter subscribeToAnswers(long userId) {
+        checkAndReturnUser(userId);
+        return requestAnswerNotifier.subscribe(userId);
+    }
+
+    private List<Request> getRequestsInOrder(List<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Request> requests = requestRepository.findWithRequesterByIdIn(requestIds).stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+        return requestIds.stream().map(requests::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     private List<ItemDto> getItems(long requestId) {
-        return itemRepository.findByRequestIdOrderByRequestCreatedTimeAsc(requestId).stream()
-                .map(item -> itemMapper.toItemDto(item, userMapper.toUserDto(item.getOwner())))
-                .collect(Collectors.toList());
+        return getItemsMapIdToItemDtoList(Set.of(requestId)).getOrDefault(requestId, List.of());
     }
 
     private Map<Long, List<ItemDto>> getItemsMapIdToItemDtoList(Set<Long> requestIds) {
-        return itemRepository.findByRequestIdInOrderByRequestCreatedTimeAsc(requestIds)
-                .stream()
-                .map(item -> itemMapper.toItemDto(item, userMapper.toUserDto(item.getOwner())))
-                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        return requestAnswerCache.getAll(requestIds, missingIds ->
+                itemRepository.findByRequestIdInOrderByRequestCreatedTimeAsc(missingIds)
+                        .stream()
+                        .map(item -> itemMapper.toRequestAnswerDto(item, userMapper.toUserDto(item.getOwner())))
+                        .collect(Collectors.groupingBy(ItemDto::getRequestId)));
     }
 }
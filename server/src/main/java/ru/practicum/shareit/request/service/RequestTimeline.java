@@ -0,0 +1,104 @@
+package ru.practicum.shareit.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.model.RequestTimelineEntry;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.utils.TransactionUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class RequestTimeline {
+    private static final Comparator<RequestTimelineEntry> NEWEST_FIRST =
+            Comparator.comparing(RequestTimelineEntry::getCreatedTime)
+                    .thenComparingLong(RequestTimelineEntry::getId)
+                    .reversed();
+    private static final int MAX_SCANNED_ENTRIES = 10_000;
+
+    private final RequestRepository requestRepository;
+    private final boolean enabled;
+    private final NavigableSet<RequestTimelineEntry> entries = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<Long, RequestTimelineEntry> entriesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public RequestTimeline(RequestRepository requestRepository,
+                           @Value("${shareit.requests.timeline.enabled:false}") boolean enabled) {
+        this.requestRepository = requestRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        try (Stream<RequestTimelineEntry> timeline = requestRepository.streamTimeline()) {
+            timeline.forEach(this::add);
+        }
+        loaded = true;
+        log.info("Request timeline loaded with {} entries.", entries.size());
+        log.warn("Request timeline only sees requests created by this instance, run a single instance with it.");
+    }
+
+    public void appendAfterCommit(Request request) {
+        if (enabled) {
+            RequestTimelineEntry entry = new RequestTimelineEntry(request.getId(), request.getRequester().getId(),
+                    request.getCreatedTime());
+            TransactionUtils.afterCommit(() -> add(entry));
+        }
+    }
+
+    public Optional<List<Long>> findPage(long userId, Long afterId, Pageable pageable) {
+        if (!loaded) {
+            return Optional.empty();
+        }
+
+        NavigableSet<RequestTimelineEntry> tail = entries;
+        if (afterId != null) {
+            RequestTimelineEntry after = entriesById.get(afterId);
+            if (after == null) {
+                return Optional.empty();
+            }
+            tail = entries.tailSet(after, false);
+        }
+
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        int scanned = 0;
+        for (RequestTimelineEntry entry : tail) {
+            // Deep offsets are left to the indexed feed query instead of walking the whole timeline.
+            if (++scanned > MAX_SCANNED_ENTRIES) {
+                return Optional.empty();
+            }
+            if (entry.getRequesterId() == userId) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            ids.add(entry.getId());
+            if (ids.size() == pageable.getPageSize()) {
+                break;
+            }
+        }
+        return Optional.of(ids);
+    }
+
+    private void add(RequestTimelineEntry entry) {
+        entriesById.put(entry.getId(), entry);
+        entries.add(entry);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@Value
+@Builder
+public class SlowQuery {
+    String id;
+    String fingerprint;
+    Set<String> callers;
+    long count;
+    long totalMillis;
+    long maxMillis;
+    long meanMillis;
+    List<String> lastParameters;
+    LocalDateTime lastSeen;
+    String plan;
+}
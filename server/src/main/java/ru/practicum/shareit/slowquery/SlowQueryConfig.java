@@ -0,0 +1,45 @@
+package ru.practicum.shareit.slowquery;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.slow-queries.enabled", havingValue = "true")
+public class SlowQueryConfig {
+    @Bean(destroyMethod = "close")
+    public SlowQueryLog slowQueryLog(@Value("${shareit.slow-queries.max-fingerprints:500}") int maxFingerprints) {
+        return new SlowQueryLog(maxFingerprints);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog,
+                                               @Value("${shareit.slow-queries.top-size:20}") int topSize) {
+        return new SlowQueryEndpoint(slowQueryLog, topSize);
+    }
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(
+            ObjectProvider<SlowQueryLog> slowQueryLog,
+            @Value("${shareit.slow-queries.threshold:200ms}") Duration threshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    DataSource dataSource = (DataSource) bean;
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SlowQueryListener(slowQueryLog, dataSource, threshold.toMillis()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.repository.Repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+    private static final String APPLICATION_PACKAGE = "ru.practicum.shareit.";
+    private static final StackWalker STACK_WALKER =
+            StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+    private final DataSource dataSource;
+    private final long thresholdMillis;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        String caller = findCaller();
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                    ? List.of() : queryInfo.getParametersList().get(0);
+            List<String> redactedParameters = redact(parameters);
+
+            log.warn("Slow query took {} ms in {}: {} parameters {}", execInfo.getElapsedTime(), caller,
+                    queryInfo.getQuery(), redactedParameters);
+            slowQueryLog.getObject().record(queryInfo.getQuery(), caller, redactedParameters,
+                    execInfo.getElapsedTime(), explain(queryInfo.getQuery(), parameters));
+        }
+    }
+
+    private Callable<String> explain(String sql, List<ParameterSetOperation> parameters) {
+        if (!sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            return null;
+        }
+        List<ParameterSetOperation> bindings = List.copyOf(parameters);
+
+        return () -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (ParameterSetOperation binding : bindings) {
+                    binding.getMethod().invoke(statement, binding.getArgs());
+                }
+                StringJoiner plan = new StringJoiner("\n");
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+                return plan.toString();
+            }
+        };
+    }
+
+    private static List<String> redact(List<ParameterSetOperation> parameters) {
+        return parameters.stream()
+                .sorted(Comparator.comparing(parameter -> String.valueOf(parameter.getArgs()[0]),
+                        Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder())))
+                .map(SlowQueryListener::redact)
+                .collect(Collectors.toList());
+    }
+
+    private static String redact(ParameterSetOperation parameter) {
+        Object value = parameter.getArgs()[1];
+
+        if (ParameterSetOperation.isSetNullParameterOperation(parameter) || value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence) {
+            return value.getClass().getSimpleName() + "(" + ((CharSequence) value).length() + ")";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private static String findCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                        .filter(frame -> Proxy.isProxyClass(frame.getDeclaringClass()))
+                        .flatMap(frame -> Arrays.stream(frame.getDeclaringClass().getInterfaces())
+                                .filter(type -> type != Repository.class && Repository.class.isAssignableFrom(type))
+                                .map(type -> type.getSimpleName() + "." + frame.getMethodName()))
+                        .findFirst())
+                .or(() -> STACK_WALKER.walk(frames -> frames
+                        .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                                && frame.getDeclaringClass() != SlowQueryListener.class)
+                        .map(frame -> frame.getDeclaringClass().getSimpleName() + "." + frame.getMethodName())
+                        .findFirst()))
+                .orElse("unknown");
+    }
+}
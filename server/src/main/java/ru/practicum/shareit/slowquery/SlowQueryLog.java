@@ -0,0 +1,152 @@
+package ru.practicum.shareit.slowquery;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class SlowQueryLog implements AutoCloseable {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_CALLERS = 8;
+
+    private final int maxFingerprints;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong droppedFingerprints = new AtomicLong();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+        Thread thread = new Thread(runnable, "slow-query-explain");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SlowQueryLog(int maxFingerprints) {
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    public void record(String sql, String caller, List<String> parameters, long elapsedMillis,
+                       @Nullable Callable<String> explain) {
+        String fingerprint = fingerprint(sql);
+        Entry entry = entries.get(fingerprint);
+
+        if (entry == null) {
+            if (entries.size() >= maxFingerprints) {
+                if (droppedFingerprints.getAndIncrement() == 0) {
+                    log.warn("Slow query log is full, new fingerprints are dropped");
+                }
+                return;
+            }
+            // getTop may see the entry before its first record() below.
+            entry = entries.computeIfAbsent(fingerprint, Entry::new);
+        }
+        if (entry.record(caller, parameters, elapsedMillis) && explain != null) {
+            capturePlan(entry, explain);
+        }
+    }
+
+    public List<SlowQuery> getTop(int limit) {
+        return entries.values().stream()
+                .map(Entry::toSlowQuery)
+                .sorted(Comparator.comparingLong(SlowQuery::getTotalMillis).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        entries.clear();
+        droppedFingerprints.set(0);
+    }
+
+    @Override
+    public void close() {
+        explainExecutor.shutdownNow();
+    }
+
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMERIC_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private void capturePlan(Entry entry, Callable<String> explain) {
+        try {
+            explainExecutor.execute(() -> {
+                try {
+                    entry.setPlan(STRING_LITERAL.matcher(explain.call()).replaceAll("'?'"));
+                } catch (Exception e) {
+                    log.debug("Could not capture plan for {}", entry.fingerprint, e);
+                    entry.setPlan("EXPLAIN failed: " + e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.resetPlan();
+        }
+    }
+
+    private static class Entry {
+        private final String id;
+        private final String fingerprint;
+        private final Set<String> callers = new LinkedHashSet<>();
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+        private List<String> lastParameters;
+        private LocalDateTime lastSeen;
+        private String plan;
+        private boolean planRequested;
+
+        Entry(String fingerprint) {
+            this.id = Integer.toHexString(fingerprint.hashCode());
+            this.fingerprint = fingerprint;
+        }
+
+        synchronized boolean record(String caller, List<String> parameters, long elapsedMillis) {
+            if (callers.size() < MAX_CALLERS) {
+                callers.add(caller);
+            }
+            count++;
+            totalMillis += elapsedMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+            lastParameters = parameters;
+            lastSeen = LocalDateTime.now();
+
+            if (planRequested) {
+                return false;
+            }
+            planRequested = true;
+            return true;
+        }
+
+        synchronized void setPlan(String plan) {
+            this.plan = plan;
+        }
+
+        synchronized void resetPlan() {
+            planRequested = false;
+        }
+
+        synchronized SlowQuery toSlowQuery() {
+            return SlowQuery.builder()
+                    .id(id)
+                    .fingerprint(fingerprint)
+                    .callers(Set.copyOf(callers))
+                    .count(count)
+                    .totalMillis(totalMillis)
+                    .maxMillis(maxMillis)
+                    .meanMillis(count == 0 ? 0 : totalMillis / count)
+                    .lastParameters(lastParameters)
+                    .lastSeen(lastSeen)
+                    .plan(plan)
+                    .build();
+        }
+    }
+}
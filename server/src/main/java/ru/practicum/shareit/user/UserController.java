@@ -2,19 +2,28 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.utils.PagingUtils;
+import ru.practicum.shareit.utils.StreamingJsonWriter;
 
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
+@Validated
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final StreamingJsonWriter streamingJsonWriter;
 
     @PostMapping
     public UserDto createUser(@Validated(UserDto.Create.class) @RequestBody UserDto userDto) {
@@ -41,8 +50,17 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
+    public ResponseEntity<StreamingResponseBody> getAllUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("GET-users (all) was called.");
-        return userService.getAllUsers();
+        return streamingJsonWriter.writeArray(accept, userService::streamAllUsers);
+    }
+
+    @GetMapping(params = "size")
+    public List<UserDto> getAllUsers(@RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                     @RequestParam @Positive Integer size,
+                                     @RequestParam(required = false) Long after) {
+        log.info("GET-users (page) was called.");
+        return userService.getAllUsers(after, PagingUtils.getPageRequest(from, size, after));
     }
 }
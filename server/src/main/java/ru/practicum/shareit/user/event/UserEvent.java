@@ -0,0 +1,14 @@
+package ru.practicum.shareit.user.event;
+
+import lombok.*;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserEvent {
+    private UserEventType type;
+    private UserDto user;
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.user.event;
+
+public enum UserEventType {
+    UPDATED, DELETED
+}
@@ -1,8 +1,22 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.utils.CommonConstants;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = CommonConstants.STREAM_FETCH_SIZE))
+    Stream<User> streamAllByOrderByIdAsc();
+
+    List<User> findAllByOrderByIdAsc(Pageable pageable);
 
+    List<User> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
 }
@@ -1,8 +1,10 @@
 package ru.practicum.shareit.user.service;
 
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto createUser(UserDto userDto);
@@ -13,5 +15,7 @@ public interface UserService {
 
     void deleteUser(long userId);
 
-    List<UserDto> getAllUsers();
+    void streamAllUsers(Consumer<UserDto> consumer);
+
+    List<UserDto> getAllUsers(Long afterId, PageRequest pageRequest);
 }
@@ -1,24 +1,41 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.MetricsConfig;
 import ru.practicum.shareit.exception.EntityDuplicateException;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.outbox.model.OutboxAggregate;
+import ru.practicum.shareit.outbox.service.OutboxPublisher;
+import ru.practicum.shareit.request.service.RequestAnswerCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserEvent;
+import ru.practicum.shareit.user.event.UserEventType;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.utils.UserMapper;
+import ru.practicum.shareit.utils.BatchUtils;
+import ru.practicum.shareit.utils.CommonConstants;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final EntityManager entityManager;
+    private final RequestAnswerCache requestAnswerCache;
+    private final OutboxPublisher outboxPublisher;
 
     @Override
     @Transactional
@@ -50,17 +67,41 @@ public class UserServiceImpl implements UserService {
                 .email(userDto.getEmail() == null || userDto.getEmail().isBlank() ? oldUser.getEmail() : userDto.getEmail())
                 .build();
 
-        return createUser(userMapper.toUserDto(updatedUser));
+        requestAnswerCache.clearAfterCommit();
+        UserDto updatedUserDto = createUser(userMapper.toUserDto(updatedUser));
+        publishEvent(UserEventType.UPDATED, updatedUserDto);
+        return updatedUserDto;
     }
 
     @Override
     @Transactional
     public void deleteUser(long userId) {
         userRepository.deleteById(userId);
+        requestAnswerCache.clearAfterCommit();
+        publishEvent(UserEventType.DELETED, UserDto.builder().id(userId).build());
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAll().stream().map(userMapper::toUserDto).collect(Collectors.toList());
+    public void streamAllUsers(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+            BatchUtils.forEachBatch(users, CommonConstants.STREAM_BATCH_SIZE, batch -> {
+                batch.stream().map(userMapper::toUserDto).forEach(consumer);
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Override
+    public List<UserDto> getAllUsers(Long afterId, PageRequest pageRequest) {
+        List<User> users = afterId == null ? userRepository.findAllByOrderByIdAsc(pageRequest) :
+                userRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageRequest);
+        return users.stream().map(userMapper::toUserDto).collect(Collectors.toList());
+    }
+
+    private void publishEvent(UserEventType type, UserDto userDto) {
+        outboxPublisher.publish(OutboxAggregate.USER, userDto.getId(), UserEvent.builder()
+                .type(type)
+                .user(userDto)
+                .build());
     }
 }
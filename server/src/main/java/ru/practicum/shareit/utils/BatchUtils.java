@@ -0,0 +1,25 @@
+package ru.practicum.shareit.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@UtilityClass
+public class BatchUtils {
+    public <T> void forEachBatch(Stream<T> stream, int batchSize, Consumer<List<T>> consumer) {
+        List<T> batch = new ArrayList<>(batchSize);
+        stream.forEachOrdered(element -> {
+            batch.add(element);
+            if (batch.size() == batchSize) {
+                consumer.accept(List.copyOf(batch));
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+
+@UtilityClass
+public class PagingUtils {
+    public PageRequest getPageRequest(int from, int size, @Nullable Long after) {
+        return after == null ? PageRequest.of(from / size, size) : PageRequest.ofSize(size);
+    }
+}
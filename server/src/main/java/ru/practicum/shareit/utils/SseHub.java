@@ -0,0 +1,115 @@
+package ru.practicum.shareit.utils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+public class SseHub<K> {
+    private final Map<K, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final TaskExecutor taskExecutor;
+    private final Duration timeout;
+    private final int queueCapacity;
+
+    public SseHub(TaskExecutor taskExecutor, Duration timeout, int queueCapacity) {
+        this.taskExecutor = taskExecutor;
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public SseEmitter subscribe(K key, List<SseEmitter.SseEventBuilder> initialEvents) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(emitter, new ArrayBlockingQueue<>(queueCapacity));
+
+        subscriptions.computeIfAbsent(key, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(key, subscription));
+        emitter.onTimeout(() -> unsubscribe(key, subscription));
+        emitter.onError(e -> unsubscribe(key, subscription));
+
+        initialEvents.forEach(event -> offer(key, subscription, event));
+        return emitter;
+    }
+
+    public void send(K key, SseEmitter.SseEventBuilder event) {
+        subscriptions.getOrDefault(key, Set.of()).forEach(subscription -> offer(key, subscription, event));
+    }
+
+    public void sendHeartbeats() {
+        subscriptions.forEach((key, keySubscriptions) -> keySubscriptions.forEach(subscription ->
+                offer(key, subscription, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void offer(K key, Subscription subscription, SseEmitter.SseEventBuilder event) {
+        if (!subscription.queue.offer(event)) {
+            log.warn("SSE subscription {} fell behind and was closed.", key);
+            close(key, subscription);
+            return;
+        }
+        scheduleDrain(key, subscription);
+    }
+
+    private void scheduleDrain(K key, Subscription subscription) {
+        if (subscription.draining.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(() -> drain(key, subscription));
+            } catch (TaskRejectedException e) {
+                log.warn("SSE subscription {} was closed because no sender thread was available.", key);
+                subscription.draining.set(false);
+                close(key, subscription);
+            }
+        }
+    }
+
+    private void drain(K key, Subscription subscription) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscription.queue.poll()) != null) {
+                subscription.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscription.queue.clear();
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.draining.set(false);
+        }
+        if (!subscription.queue.isEmpty()) {
+            scheduleDrain(key, subscription);
+        }
+    }
+
+    private void close(K key, Subscription subscription) {
+        unsubscribe(key, subscription);
+        subscription.queue.clear();
+        subscription.emitter.complete();
+    }
+
+    private void unsubscribe(K key, Subscription subscription) {
+        subscriptions.computeIfPresent(key, (id, keySubscriptions) -> {
+            keySubscriptions.remove(subscription);
+            return keySubscriptions.isEmpty() ? null : keySubscriptions;
+        });
+    }
+
+    @RequiredArgsConstructor
+    private class Subscription {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Component
+public class StreamingJsonWriter {
+    private static final MediaType SMILE_MEDIA_TYPE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+
+    public StreamingJsonWriter(ObjectMapper objectMapper, MappingJackson2SmileHttpMessageConverter smileConverter) {
+        this.jsonMapper = objectMapper;
+        this.smileMapper = smileConverter.getObjectMapper();
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> writeArray(@Nullable String accept, Consumer<Consumer<T>> producer) {
+        boolean smile = accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(SMILE_MEDIA_TYPE));
+        ObjectMapper objectMapper = smile ? smileMapper : jsonMapper;
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        return ResponseEntity.ok()
+                .contentType(smile ? SMILE_MEDIA_TYPE : MediaType.APPLICATION_JSON)
+                .body(outputStream -> {
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+                    generator.writeStartArray();
+                    producer.accept(element -> writeElement(writer, generator, element));
+                    generator.writeEndArray();
+                    generator.close();
+                });
+    }
+
+    private static void writeElement(ObjectWriter writer, JsonGenerator generator, Object element) {
+        try {
+            writer.writeValue(generator, element);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
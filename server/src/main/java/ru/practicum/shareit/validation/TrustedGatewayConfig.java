@@ -0,0 +1,32 @@
+package ru.practicum.shareit.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.trusted-gateway.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TrustedGatewayConfig implements WebMvcConfigurer {
+    private final javax.validation.Validator validator;
+
+    @Bean
+    public static MethodValidationPostProcessor methodValidationPostProcessor(
+            @Lazy javax.validation.Validator validator) {
+        MethodValidationPostProcessor processor = new MethodValidationPostProcessor();
+        processor.setProxyTargetClass(true);
+        processor.setValidator(new TrustedGatewayMethodValidator(validator));
+        return processor;
+    }
+
+    @Override
+    public Validator getValidator() {
+        return new TrustedGatewayValidator(new SpringValidatorAdapter(validator));
+    }
+}
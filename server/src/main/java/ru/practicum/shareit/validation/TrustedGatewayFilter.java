@@ -0,0 +1,180 @@
+package ru.practicum.shareit.validation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.utils.CommonConstants;
+import ru.practicum.shareit.utils.GatewaySignature;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "shareit.trusted-gateway.enabled", havingValue = "true")
+@Slf4j
+public class TrustedGatewayFilter extends OncePerRequestFilter {
+    public static final String TRUSTED_REQUEST_ATTRIBUTE = TrustedGatewayFilter.class.getName() + ".TRUSTED";
+
+    private final String secret;
+    private final Duration maxClockSkew;
+    private final int maxBodySize;
+    private final Map<String, Long> usedSignatures;
+
+    public TrustedGatewayFilter(@Value("${shareit.trusted-gateway.secret}") String secret,
+                                @Value("${shareit.trusted-gateway.max-clock-skew:30s}") Duration maxClockSkew,
+                                @Value("${shareit.trusted-gateway.max-body-size:64KB}") DataSize maxBodySize,
+                                @Value("${shareit.trusted-gateway.replay-cache-size:100000}") int replayCacheSize) {
+        this.secret = GatewaySignature.requireSecret(secret);
+        this.maxClockSkew = maxClockSkew;
+        this.maxBodySize = Math.toIntExact(maxBodySize.toBytes());
+        this.usedSignatures = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > replayCacheSize;
+            }
+        };
+    }
+
+    static boolean isTrustedRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && Boolean.TRUE.equals(
+                attributes.getAttribute(TRUSTED_REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String signature = request.getHeader(CommonConstants.GATEWAY_SIGNATURE_HEADER);
+        String timestamp = request.getHeader(CommonConstants.GATEWAY_TIMESTAMP_HEADER);
+
+        if (signature == null || timestamp == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+
+        if (body.length > maxBodySize) {
+            log.warn("Gateway signature was not checked for {} {}: the body is over {} bytes.",
+                    request.getMethod(), request.getRequestURI(), maxBodySize);
+            filterChain.doFilter(new CachedBodyRequest(request, body, false), response);
+            return;
+        }
+
+        CachedBodyRequest cachedBodyRequest = new CachedBodyRequest(request, body, true);
+
+        if (isFresh(timestamp) && GatewaySignature.verify(secret, request.getMethod(), getPathAndQuery(request),
+                request.getHeader(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER), timestamp, cachedBodyRequest.body,
+                signature) && isFirstUse(signature)) {
+            cachedBodyRequest.setAttribute(TRUSTED_REQUEST_ATTRIBUTE, Boolean.TRUE);
+        } else {
+            log.warn("Gateway signature was rejected for {} {}.", request.getMethod(), request.getRequestURI());
+        }
+
+        filterChain.doFilter(cachedBodyRequest, response);
+    }
+
+    private boolean isFresh(String timestamp) {
+        try {
+            long age = System.currentTimeMillis() - Long.parseLong(timestamp);
+            return Math.abs(age) <= maxClockSkew.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // A signature is trusted once per replica. A replay only skips validation of a body the gateway has already
+    // validated, so a replica that never saw the original, or evicted it, accepting the replay is tolerated.
+    private boolean isFirstUse(String signature) {
+        long now = System.currentTimeMillis();
+
+        synchronized (usedSignatures) {
+            Iterator<Long> usedAt = usedSignatures.values().iterator();
+            while (usedAt.hasNext() && now - usedAt.next() > 2 * maxClockSkew.toMillis()) {
+                usedAt.remove();
+            }
+            return usedSignatures.putIfAbsent(signature, now) == null;
+        }
+    }
+
+    private static String getPathAndQuery(HttpServletRequest request) {
+        return request.getQueryString() == null ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+    }
+
+    // Replays the buffered body, followed by the rest of the original stream when the body was not read whole.
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+        private final boolean complete;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body, boolean complete) {
+            super(request);
+            this.body = body;
+            this.complete = complete;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            InputStream inputStream = complete ? new ByteArrayInputStream(body)
+                    : new SequenceInputStream(new ByteArrayInputStream(body), super.getInputStream());
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() throws IOException {
+                    int read = inputStream.read();
+                    finished = read == -1;
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int read = inputStream.read(b, off, len);
+                    finished = read == -1;
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
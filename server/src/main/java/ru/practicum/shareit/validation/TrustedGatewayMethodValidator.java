@@ -0,0 +1,75 @@
+package ru.practicum.shareit.validation;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.metadata.BeanDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Set;
+
+// Method validation cascades into @Valid request bodies, so it has to skip trusted requests like the binder does.
+@RequiredArgsConstructor
+public class TrustedGatewayMethodValidator implements Validator, ExecutableValidator {
+    private final Validator delegate;
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validate(T object, Class<?>... groups) {
+        return delegate.validate(object, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateProperty(T object, String propertyName, Class<?>... groups) {
+        return delegate.validateProperty(object, propertyName, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateValue(Class<T> beanType, String propertyName, Object value,
+                                                         Class<?>... groups) {
+        return delegate.validateValue(beanType, propertyName, value, groups);
+    }
+
+    @Override
+    public BeanDescriptor getConstraintsForClass(Class<?> clazz) {
+        return delegate.getConstraintsForClass(clazz);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return delegate.unwrap(type);
+    }
+
+    @Override
+    public ExecutableValidator forExecutables() {
+        return this;
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateParameters(T object, Method method, Object[] parameterValues,
+                                                              Class<?>... groups) {
+        return TrustedGatewayFilter.isTrustedRequest() ? Set.of()
+                : delegate.forExecutables().validateParameters(object, method, parameterValues, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateReturnValue(T object, Method method, Object returnValue,
+                                                               Class<?>... groups) {
+        return TrustedGatewayFilter.isTrustedRequest() ? Set.of()
+                : delegate.forExecutables().validateReturnValue(object, method, returnValue, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateConstructorParameters(Constructor<? extends T> constructor,
+                                                                         Object[] parameterValues,
+                                                                         Class<?>... groups) {
+        return delegate.forExecutables().validateConstructorParameters(constructor, parameterValues, groups);
+    }
+
+    @Override
+    public <T> Set<ConstraintViolation<T>> validateConstructorReturnValue(Constructor<? extends T> constructor,
+                                                                          T createdObject, Class<?>... groups) {
+        return delegate.forExecutables().validateConstructorReturnValue(constructor, createdObject, groups);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+@RequiredArgsConstructor
+public class TrustedGatewayValidator implements SmartValidator {
+    private final SmartValidator delegate;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (!TrustedGatewayFilter.isTrustedRequest()) {
+            delegate.validate(target, errors);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        if (!TrustedGatewayFilter.isTrustedRequest()) {
+            delegate.validate(target, errors, validationHints);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+alter table items add column if not exists comment_count bigint not null default 0;
+alter table items add column if not exists approved_booking_count bigint not null default 0;
+alter table items add column if not exists last_booked_at TIMESTAMP WITHOUT TIME ZONE;
+
+create table if not exists outbox_events (
+    id bigserial primary key,
+    aggregate_type varchar(20) not null,
+    aggregate_id bigint not null,
+    event_type varchar(50) not null,
+    payload varchar not null,
+    created_time TIMESTAMP WITHOUT TIME ZONE NOT NULL);
+
+create table if not exists booking_listings (
+    booking_id bigint primary key,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    status varchar(50) not null,
+    item_id bigint not null,
+    item_name varchar(50) not null,
+    item_description varchar(50) not null,
+    item_available boolean not null,
+    item_request_id bigint,
+    owner_id bigint not null,
+    owner_name varchar(50) not null,
+    owner_email varchar(50) not null,
+    booker_id bigint not null,
+    booker_name varchar(50) not null,
+    booker_email varchar(50) not null);
+
+create index if not exists booking_listings_booker_id_start_date_idx on booking_listings (booker_id, start_date desc);
+create index if not exists booking_listings_owner_id_start_date_idx on booking_listings (owner_id, start_date desc);
@@ -1,7 +1,3 @@
-drop table if exists users cascade;
-drop table if exists items cascade;
-drop table if exists bookings, requests, comments;
-
 create table if not exists users (
     id serial primary key,
     name varchar(50) NOT NULL,
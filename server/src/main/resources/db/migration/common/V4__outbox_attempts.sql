@@ -0,0 +1,2 @@
+alter table outbox_events add column if not exists attempts int not null default 0;
+alter table outbox_events add column if not exists parked_time TIMESTAMP WITHOUT TIME ZONE;
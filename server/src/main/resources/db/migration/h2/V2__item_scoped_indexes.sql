@@ -0,0 +1,8 @@
+create index if not exists requests_user_id_created_time_idx on requests (user_id, created_time, id);
+create index if not exists requests_created_time_idx on requests (created_time desc, id desc, user_id);
+create index if not exists items_owner_id_idx on items (owner_id, id);
+create index if not exists bookings_booker_id_item_id_idx on bookings (booker_id, item_id, status, end_date);
+create index if not exists comments_item_id_created_time_idx on comments (item_id, created_time, id);
+create index if not exists bookings_item_id_status_start_date_idx on bookings (item_id, status, start_date);
+create index if not exists booking_listings_item_id_idx on booking_listings (item_id);
+create index if not exists items_request_id_idx on items (request_id);
@@ -0,0 +1,23 @@
+drop index concurrently if exists requests_user_id_created_time_idx;
+create index concurrently requests_user_id_created_time_idx on requests (user_id, created_time, id);
+
+drop index concurrently if exists requests_created_time_idx;
+create index concurrently requests_created_time_idx on requests (created_time desc, id desc, user_id);
+
+drop index concurrently if exists items_owner_id_idx;
+create index concurrently items_owner_id_idx on items (owner_id, id);
+
+drop index concurrently if exists bookings_booker_id_item_id_idx;
+create index concurrently bookings_booker_id_item_id_idx on bookings (booker_id, item_id, status, end_date);
+
+drop index concurrently if exists comments_item_id_created_time_idx;
+create index concurrently comments_item_id_created_time_idx on comments (item_id, created_time, id);
+
+drop index concurrently if exists bookings_item_id_status_start_date_idx;
+create index concurrently bookings_item_id_status_start_date_idx on bookings (item_id, status, start_date);
+
+drop index concurrently if exists booking_listings_item_id_idx;
+create index concurrently booking_listings_item_id_idx on booking_listings (item_id);
+
+drop index concurrently if exists items_request_id_idx;
+create index concurrently items_request_id_idx on items (request_id);
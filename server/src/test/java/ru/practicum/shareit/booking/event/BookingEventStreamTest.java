@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingEventStreamTest {
+    private static final int QUEUE_CAPACITY = 4;
+    private static final int HISTORY_SIZE = 8;
+    private static final BookingEventStream.Subscriber BOOKER = new BookingEventStream.Subscriber(BookingView.BOOKER, 1L);
+
+    private final BookingEventStream bookingEventStream =
+            new BookingEventStream(new SyncTaskExecutor(), Duration.ofMinutes(1), QUEUE_CAPACITY, HISTORY_SIZE);
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayWhenUpToDate() {
+        consume(3, 1L);
+
+        assertTrue(bookingEventStream.replay(BOOKER, getEpoch() + "-3").isEmpty());
+    }
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayResumesAfterLastEvent() {
+        consume(3, 1L);
+
+        assertEquals(List.of("booking " + getEpoch() + "-2", "booking " + getEpoch() + "-3"),
+                describe(bookingEventStream.replay(BOOKER, getEpoch() + "-1")));
+    }
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayOnlyReturnsEventsOfSubscriber() {
+        consume(1, 1L);
+        consume(1, 2L);
+        consume(1, 1L);
+
+        assertEquals(List.of("booking " + getEpoch() + "-3"),
+                describe(bookingEventStream.replay(BOOKER, getEpoch() + "-1")));
+        assertTrue(bookingEventStream.replay(BOOKER, getEpoch() + "-3").isEmpty());
+    }
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayResetsWhenHistoryHasGap() {
+        consume(HISTORY_SIZE + 2, 2L);
+        String epoch = getEpoch();
+
+        assertEquals(List.of("reset " + epoch + "-10"), describe(bookingEventStream.replay(BOOKER, epoch + "-1")));
+        assertTrue(bookingEventStream.replay(BOOKER, epoch + "-2").isEmpty());
+    }
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayResetsForeignEpoch() {
+        consume(2, 1L);
+
+        assertEquals(List.of("reset " + getEpoch() + "-2"), describe(bookingEventStream.replay(BOOKER, "other-1")));
+        assertEquals(List.of("reset " + getEpoch() + "-2"), describe(bookingEventStream.replay(BOOKER, "1")));
+        assertEquals(List.of("reset " + getEpoch() + "-2"),
+                describe(bookingEventStream.replay(BOOKER, getEpoch() + "-x")));
+    }
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayResetsSequenceFromFuture() {
+        consume(2, 1L);
+
+        assertEquals(List.of("reset " + getEpoch() + "-2"),
+                describe(bookingEventStream.replay(BOOKER, getEpoch() + "-5")));
+    }
+
+    /**
+     * Method under test: {@link BookingEventStream#replay(BookingEventStream.Subscriber, String)}
+     */
+    @Test
+    void testReplayResetsWhenBacklogReachesQueueCapacity() {
+        consume(QUEUE_CAPACITY + 1, 1L);
+        String epoch = getEpoch();
+
+        assertEquals(QUEUE_CAPACITY - 1, bookingEventStream.replay(BOOKER, epoch + "-2").size());
+        assertEquals(List.of("reset " + epoch + "-5"), describe(bookingEventStream.replay(BOOKER, epoch + "-1")));
+        assertEquals(List.of("reset " + epoch + "-5"), describe(bookingEventStream.replay(BOOKER, epoch + "-0")));
+    }
+
+    private void consume(int count, long bookerId) {
+        for (int i = 0; i < count; i++) {
+            bookingEventStream.consume(BookingEvent.builder()
+                    .type(BookingEventType.CREATED)
+                    .bookerId(bookerId)
+                    .ownerId(100L)
+                    .build());
+        }
+    }
+
+    private String getEpoch() {
+        String id = describe(bookingEventStream.replay(BOOKER, "-")).get(0).split(" ")[1];
+        return id.substring(0, id.lastIndexOf('-'));
+    }
+
+    private static List<String> describe(List<SseEmitter.SseEventBuilder> events) {
+        return events.stream()
+                .map(BookingEventStreamTest::describe)
+                .collect(Collectors.toList());
+    }
+
+    private static String describe(SseEmitter.SseEventBuilder event) {
+        String text = event.build().stream()
+                .map(data -> data.getData().toString())
+                .collect(Collectors.joining());
+        return getField(text, "event:") + " " + getField(text, "id:");
+    }
+
+    private static String getField(String text, String prefix) {
+        return Arrays.stream(text.split("\n"))
+                .filter(line -> line.startsWith(prefix))
+                .map(line -> line.substring(prefix.length()))
+                .findFirst()
+                .orElse("");
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.datagen;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DatasetGeneratorTest {
+    private static final DatasetSpec SPEC = DatasetSpec.builder()
+            .users(50)
+            .owners(10)
+            .items(40)
+            .requests(10)
+            .bookings(500)
+            .commentShare(0.5)
+            .itemSkew(1.0)
+            .ownerSkew(1.2)
+            .hotItems(3)
+            .seed(42)
+            .batchSize(100)
+            .build();
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void migrate() {
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Method under test: {@link DatasetGenerator#generate(javax.sql.DataSource, DatasetSpec)}
+     */
+    @Test
+    void testGenerateWritesSpecifiedRowsAndListings() throws SQLException {
+        DatasetManifest manifest = DatasetGenerator.generate(dataSource, SPEC);
+
+        assertEquals(1, manifest.getFirstUserId());
+        assertEquals(SPEC.getUsers(), manifest.getLastUserId());
+        assertEquals(SPEC.getItems(), manifest.getLastItemId());
+        assertEquals(SPEC.getHotItems(), manifest.getHotItems().size());
+        assertEquals(SPEC.getUsers(), count("users"));
+        assertEquals(SPEC.getRequests(), count("requests"));
+        assertEquals(SPEC.getItems(), count("items"));
+        assertEquals(SPEC.getBookings(), count("bookings"));
+        assertEquals(manifest.getComments(), count("comments"));
+        assertEquals(SPEC.getBookings(), manifest.getListings());
+        assertEquals(SPEC.getBookings(), count("booking_listings"));
+    }
+
+    /**
+     * Method under test: {@link DatasetGenerator#generate(javax.sql.DataSource, DatasetSpec)}
+     */
+    @Test
+    void testGenerateAppendsAfterExistingIds() throws SQLException {
+        DatasetGenerator.generate(dataSource, SPEC);
+        DatasetManifest manifest = DatasetGenerator.generate(dataSource, SPEC);
+
+        assertEquals(SPEC.getUsers() + 1, manifest.getFirstUserId());
+        assertEquals(SPEC.getItems() + 1, manifest.getFirstItemId());
+        assertEquals(SPEC.getBookings() * 2, count("bookings"));
+        assertEquals(SPEC.getBookings() * 2, manifest.getListings());
+    }
+
+    private long count(String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
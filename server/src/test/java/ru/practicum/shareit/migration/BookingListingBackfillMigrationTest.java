@@ -0,0 +1,78 @@
+package ru.practicum.shareit.migration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.datagen.DatasetGenerator;
+import ru.practicum.shareit.datagen.DatasetSpec;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingListingBackfillMigrationTest {
+    private static final DatasetSpec SPEC = DatasetSpec.builder()
+            .users(20)
+            .owners(5)
+            .items(10)
+            .requests(5)
+            .bookings(250)
+            .commentShare(0)
+            .itemSkew(1.0)
+            .ownerSkew(1.0)
+            .hotItems(1)
+            .seed(7)
+            .batchSize(100)
+            .build();
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void migrateBeforeBackfill() {
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        flyway().target("4").load().migrate();
+    }
+
+    /**
+     * Method under test: {@link BatchedBackfillMigration#migrate(org.flywaydb.core.api.migration.Context)}
+     */
+    @Test
+    void testMigrateFillsMissingListingsInBatches() throws SQLException {
+        DatasetGenerator.generate(dataSource, SPEC);
+        execute("DELETE FROM booking_listings WHERE booking_id > 100");
+
+        flyway().javaMigrations(new BookingListingBackfillMigration(30)).load().migrate();
+
+        assertEquals(SPEC.getBookings(), count("SELECT COUNT(*) FROM booking_listings"));
+        assertEquals(SPEC.getBookings(), count("SELECT COUNT(*) FROM booking_listings l " +
+                "JOIN bookings b ON b.id = l.booking_id AND b.booker_id = l.booker_id AND b.item_id = l.item_id"));
+    }
+
+    private FluentConfiguration flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+
+    private long count(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package ru.practicum.shareit.outbox.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.event.ItemEvent;
+import ru.practicum.shareit.outbox.model.OutboxAggregate;
+import ru.practicum.shareit.outbox.model.OutboxEvent;
+import ru.practicum.shareit.outbox.repository.OutboxRepository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OutboxRepository outboxRepository = mock(OutboxRepository.class);
+    private final List<Long> consumed = new ArrayList<>();
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayDispatchesAndDeletesBatch() {
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(event(1L, 1L), event(2L, 2L)));
+
+        createRelay().relay();
+
+        assertEquals(List.of(1L, 2L), consumed);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayStopsAtFailingEventAndRecordsAttempt() {
+        OutboxEvent failing = event(2L, -1L);
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(event(1L, 1L), failing, event(3L, 3L)));
+
+        createRelay().relay();
+
+        assertEquals(List.of(1L), consumed);
+        assertEquals(1, failing.getAttempts());
+        assertNull(failing.getParkedTime());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayParksEventAfterMaxAttemptsAndContinues() {
+        OutboxEvent failing = event(1L, -1L);
+        failing.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(failing, event(2L, 2L)));
+
+        createRelay().relay();
+
+        assertEquals(List.of(2L), consumed);
+        assertEquals(MAX_ATTEMPTS, failing.getAttempts());
+        assertNotNull(failing.getParkedTime());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(2L));
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayParksUnreadablePayload() {
+        OutboxEvent unreadable = event(1L, 1L);
+        unreadable.setPayload("{");
+        unreadable.setAttempts(MAX_ATTEMPTS - 1);
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(unreadable));
+
+        createRelay().relay();
+
+        assertTrue(consumed.isEmpty());
+        assertNotNull(unreadable.getParkedTime());
+        verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayUsesSkipLockedWhenEnabled() {
+        when(outboxRepository.lockNextBatchSkipLocked(10)).thenReturn(List.of());
+
+        createRelay(true).relay();
+
+        verify(outboxRepository).lockNextBatchSkipLocked(10);
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayRetriesFailedEventOnNextRun() {
+        OutboxEvent failing = event(1L, -1L);
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of(failing));
+        OutboxRelay relay = createRelay();
+
+        relay.relay();
+        failing.setPayload("{\"ownerId\":1}");
+        relay.relay();
+
+        assertEquals(List.of(1L), consumed);
+        assertEquals(1, failing.getAttempts());
+        assertNull(failing.getParkedTime());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayDetectsSkipLockedOnPostgres() throws SQLException {
+        when(outboxRepository.lockNextBatchSkipLocked(10)).thenReturn(List.of());
+
+        createRelay(null, dataSource("PostgreSQL")).relay();
+
+        verify(outboxRepository).lockNextBatchSkipLocked(10);
+        verify(outboxRepository, never()).lockNextBatch(anyInt());
+    }
+
+    /**
+     * Method under test: {@link OutboxRelay#relay()}
+     */
+    @Test
+    void testRelayFallsBackToForUpdateOnOtherDatabases() throws SQLException {
+        when(outboxRepository.lockNextBatch(10)).thenReturn(List.of());
+
+        createRelay(null, dataSource("H2")).relay();
+
+        verify(outboxRepository).lockNextBatch(10);
+        verify(outboxRepository, never()).lockNextBatchSkipLocked(anyInt());
+    }
+
+    private OutboxRelay createRelay() {
+        return createRelay(false);
+    }
+
+    private OutboxRelay createRelay(boolean skipLocked) {
+        return createRelay(skipLocked, mock(DataSource.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private OutboxRelay createRelay(Boolean skipLocked, DataSource dataSource) {
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        OutboxConsumer<ItemEvent> consumer = new OutboxConsumer<>() {
+            @Override
+            public Class<ItemEvent> getEventType() {
+                return ItemEvent.class;
+            }
+
+            @Override
+            public void consume(ItemEvent event) {
+                if (event.getOwnerId() < 0) {
+                    throw new IllegalStateException("Consumer failed");
+                }
+                consumed.add(event.getOwnerId());
+            }
+        };
+        return new OutboxRelay(outboxRepository, transactionTemplate, new ObjectMapper(), new SimpleMeterRegistry(),
+                List.of(consumer), dataSource, 10, MAX_ATTEMPTS, skipLocked);
+    }
+
+    private static DataSource dataSource(String productName) throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static OutboxEvent event(long id, long ownerId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType(OutboxAggregate.ITEM)
+                .aggregateId(ownerId)
+                .eventType(ItemEvent.class.getSimpleName())
+                .payload("{\"ownerId\":" + ownerId + "}")
+                .createdTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.querybudget;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.QueryBudgetExceededException;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.RequestRequestDto;
+import ru.practicum.shareit.request.service.RequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.utils.CommonConstants;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the budgeted listings in FAIL mode against more rows than their budget, so a statement issued per row fails
+ * the request instead of only being logged.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querybudget;DB_CLOSE_DELAY=-1",
+        "management.server.port=-1",
+        "shareit.sql-budget.enabled=true",
+        "shareit.sql-budget.mode=fail",
+        "shareit.sql-budget.sampling-ratio=1"
+})
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+    private static final int ROWS = 5;
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private QueryCounter queryCounter;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private BookingService bookingService;
+
+    private long ownerId;
+    private long requesterId;
+
+    @BeforeEach
+    void seed() {
+        ownerId = createUser();
+        requesterId = createUser();
+
+        for (int i = 0; i < ROWS; i++) {
+            long requestAuthorId = createUser();
+            long requestId = requestService.createRequest(new RequestRequestDto("request " + i), requestAuthorId)
+                    .getId();
+            long itemId = itemService.createItem(new ItemRequestDto("item " + i, "description " + i, true,
+                    requestId), ownerId).getId();
+
+            long bookerId = createUser();
+            BookingResponseDto booking = bookingService.createBooking(new BookingRequestDto(
+                    LocalDateTime.now().plusDays(i + 1), LocalDateTime.now().plusDays(i + 2), itemId), bookerId);
+            bookingService.updateBooking(booking.getId(), true, ownerId);
+        }
+    }
+
+    /**
+     * Method under test: {@link ru.practicum.shareit.item.service.ItemServiceImpl#getAllItems(long, Long, PageRequest)}
+     */
+    @Test
+    void testGetAllItemsStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/items")
+                        .header(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER, ownerId)
+                        .param("size", String.valueOf(ROWS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+    }
+
+    /**
+     * Method under test:
+     * {@link ru.practicum.shareit.request.service.RequestServiceImpl#getAllRequests(long, Long, PageRequest)}
+     */
+    @Test
+    void testGetAllRequestsStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER, requesterId)
+                        .param("size", String.valueOf(ROWS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+    }
+
+    /**
+     * Method under test: {@link ru.practicum.shareit.booking.service.BookingServiceImpl#getItems}
+     */
+    @Test
+    void testGetOwnerBookingsStaysWithinBudget() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER, ownerId)
+                        .param("size", String.valueOf(ROWS)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ROWS));
+    }
+
+    /**
+     * Method under test: {@link QueryCounter#inspect(String)}
+     */
+    @Test
+    void testStatementOverBudgetFails() {
+        queryCounter.start("GET /items", 1, QueryBudgetMode.FAIL);
+        try {
+            assertThrows(QueryBudgetExceededException.class,
+                    () -> itemService.getAllItems(ownerId, null, PageRequest.of(0, ROWS)));
+        } finally {
+            queryCounter.stop();
+        }
+    }
+
+    private long createUser() {
+        int number = USERS.incrementAndGet();
+        return userService.createUser(UserDto.builder()
+                .name("user " + number)
+                .email("user" + number + "@budget.test")
+                .build()).getId();
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.model.RequestTimelineEntry;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class RequestTimelineTest {
+    private static final LocalDateTime START = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageIsEmptyUntilLoaded() {
+        RequestTimeline requestTimeline = new RequestTimeline(mock(RequestRepository.class), true);
+
+        assertTrue(requestTimeline.findPage(1L, null, PageRequest.ofSize(10)).isEmpty());
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageIsEmptyWhenDisabled() {
+        RequestRepository requestRepository = mock(RequestRepository.class);
+        RequestTimeline requestTimeline = new RequestTimeline(requestRepository, false);
+        requestTimeline.load();
+
+        assertTrue(requestTimeline.findPage(1L, null, PageRequest.ofSize(10)).isEmpty());
+        verifyNoInteractions(requestRepository);
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageSkipsOwnRequestsNewestFirst() {
+        RequestTimeline requestTimeline = loadTimeline(
+                entry(1L, 2L, 0), entry(2L, 1L, 1), entry(3L, 2L, 2), entry(4L, 3L, 3), entry(5L, 2L, 3));
+
+        assertEquals(Optional.of(List.of(5L, 4L, 3L)), requestTimeline.findPage(1L, null, PageRequest.ofSize(3)));
+        assertEquals(Optional.of(List.of(5L, 3L, 2L)), requestTimeline.findPage(3L, null, PageRequest.ofSize(3)));
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageWithOffset() {
+        RequestTimeline requestTimeline = loadTimeline(
+                entry(1L, 2L, 0), entry(2L, 1L, 1), entry(3L, 2L, 2), entry(4L, 3L, 3), entry(5L, 2L, 4));
+
+        assertEquals(Optional.of(List.of(3L, 1L)), requestTimeline.findPage(1L, null, PageRequest.of(1, 2)));
+        assertEquals(Optional.of(List.of()), requestTimeline.findPage(1L, null, PageRequest.of(2, 2)));
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageAfterCursor() {
+        RequestTimeline requestTimeline = loadTimeline(
+                entry(1L, 2L, 0), entry(2L, 1L, 1), entry(3L, 2L, 2), entry(4L, 3L, 3), entry(5L, 2L, 4));
+
+        assertEquals(Optional.of(List.of(3L, 1L)), requestTimeline.findPage(1L, 4L, PageRequest.ofSize(10)));
+        assertEquals(Optional.of(List.of()), requestTimeline.findPage(1L, 1L, PageRequest.ofSize(10)));
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageWithUnknownCursorFallsBack() {
+        RequestTimeline requestTimeline = loadTimeline(entry(1L, 2L, 0));
+
+        assertTrue(requestTimeline.findPage(1L, 42L, PageRequest.ofSize(10)).isEmpty());
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#findPage(long, Long, org.springframework.data.domain.Pageable)}
+     */
+    @Test
+    void testFindPageWithDeepOffsetFallsBack() {
+        RequestTimeline requestTimeline = loadTimeline(LongStream.rangeClosed(1, 20_000)
+                .mapToObj(id -> entry(id, 2L, id))
+                .toArray(RequestTimelineEntry[]::new));
+
+        assertEquals(Optional.of(List.of(20_000L, 19_999L)), requestTimeline.findPage(1L, null, PageRequest.ofSize(2)));
+        assertTrue(requestTimeline.findPage(1L, null, PageRequest.of(7_500, 2)).isEmpty());
+    }
+
+    /**
+     * Method under test: {@link RequestTimeline#appendAfterCommit(Request)}
+     */
+    @Test
+    void testAppendAfterCommit() {
+        RequestTimeline requestTimeline = loadTimeline(entry(1L, 2L, 0));
+        User requester = new User();
+        requester.setId(2L);
+        Request request = new Request();
+        request.setId(2L);
+        request.setRequester(requester);
+        request.setCreatedTime(START.plusMinutes(1));
+
+        requestTimeline.appendAfterCommit(request);
+
+        assertEquals(Optional.of(List.of(2L, 1L)), requestTimeline.findPage(1L, null, PageRequest.ofSize(10)));
+    }
+
+    private static RequestTimeline loadTimeline(RequestTimelineEntry... entries) {
+        RequestRepository requestRepository = mock(RequestRepository.class);
+        when(requestRepository.streamTimeline()).thenReturn(new ArrayList<>(List.of(entries)).stream());
+        RequestTimeline requestTimeline = new RequestTimeline(requestRepository, true);
+        requestTimeline.load();
+        return requestTimeline;
+    }
+
+    private static RequestTimelineEntry entry(long id, long requesterId, long minutes) {
+        return new RequestTimelineEntry(id, requesterId, START.plusMinutes(minutes));
+    }
+}
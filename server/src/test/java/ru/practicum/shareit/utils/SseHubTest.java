@@ -0,0 +1,98 @@
+package ru.practicum.shareit.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SseHubTest {
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    /**
+     * Method under test: {@link SseHub#subscribe(Object, List)}
+     */
+    @Test
+    void testSubscribeWithInitialEventsWithinCapacity() {
+        SseHub<Long> sseHub = new SseHub<>(tasks::add, Duration.ofMinutes(1), 2);
+
+        SseEmitter emitter = sseHub.subscribe(1L, events(2));
+
+        assertEquals(1, tasks.size());
+        assertDoesNotThrow(() -> emitter.send(SseEmitter.event().comment("open")));
+    }
+
+    /**
+     * Method under test: {@link SseHub#subscribe(Object, List)}
+     */
+    @Test
+    void testSubscribeClosesSubscriptionWhenInitialEventsExceedCapacity() {
+        SseHub<Long> sseHub = new SseHub<>(tasks::add, Duration.ofMinutes(1), 2);
+
+        SseEmitter emitter = sseHub.subscribe(1L, events(3));
+
+        assertThrows(IllegalStateException.class, () -> emitter.send(SseEmitter.event().comment("closed")));
+    }
+
+    /**
+     * Method under test: {@link SseHub#send(Object, SseEmitter.SseEventBuilder)}
+     */
+    @Test
+    void testSendClosesSubscriptionThatFellBehind() throws IOException {
+        SseHub<Long> sseHub = new SseHub<>(tasks::add, Duration.ofMinutes(1), 2);
+        SseEmitter emitter = sseHub.subscribe(1L, List.of());
+
+        sseHub.send(1L, SseEmitter.event().data("first"));
+        sseHub.send(1L, SseEmitter.event().data("second"));
+        emitter.send(SseEmitter.event().comment("open"));
+        sseHub.send(1L, SseEmitter.event().data("third"));
+
+        assertEquals(1, tasks.size());
+        assertThrows(IllegalStateException.class, () -> emitter.send(SseEmitter.event().comment("closed")));
+    }
+
+    /**
+     * Method under test: {@link SseHub#send(Object, SseEmitter.SseEventBuilder)}
+     */
+    @Test
+    void testSendOnlyReachesSubscribersOfKey() {
+        SseHub<Long> sseHub = new SseHub<>(tasks::add, Duration.ofMinutes(1), 2);
+        sseHub.subscribe(1L, List.of());
+
+        sseHub.send(2L, SseEmitter.event().data("other"));
+        assertEquals(0, tasks.size());
+
+        sseHub.send(1L, SseEmitter.event().data("own"));
+        assertEquals(1, tasks.size());
+    }
+
+    /**
+     * Method under test: {@link SseHub#send(Object, SseEmitter.SseEventBuilder)}
+     */
+    @Test
+    void testSendClosesSubscriptionWhenExecutorRejects() {
+        SseHub<Long> sseHub = new SseHub<>(task -> {
+            throw new TaskRejectedException("No sender thread");
+        }, Duration.ofMinutes(1), 2);
+        SseEmitter emitter = sseHub.subscribe(1L, List.of());
+
+        sseHub.send(1L, SseEmitter.event().data("event"));
+
+        assertThrows(IllegalStateException.class, () -> emitter.send(SseEmitter.event().comment("closed")));
+    }
+
+    private static List<SseEmitter.SseEventBuilder> events(int count) {
+        List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(SseEmitter.event().id(String.valueOf(i)).data("event"));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.utils.CommonConstants;
+import ru.practicum.shareit.utils.GatewaySignature;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sends bodies that fail validation: signed requests skip both the binder and the method validation, while
+ * unsigned, replayed and oversized ones are still validated.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:trustedgateway;DB_CLOSE_DELAY=-1",
+        "management.server.port=-1",
+        "shareit.trusted-gateway.enabled=true",
+        "shareit.trusted-gateway.secret=" + TrustedGatewayValidationTest.SECRET,
+        "shareit.trusted-gateway.max-body-size=1KB"
+})
+@AutoConfigureMockMvc
+class TrustedGatewayValidationTest {
+    static final String SECRET = "test-secret";
+    private static final String BLANK_REQUEST = "{\"description\":\" \"}";
+    private static final String INVALID_USER = "{\"name\":\"user\",\"email\":\"not-an-email\"}";
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+
+    private long userId;
+
+    @BeforeEach
+    void createUser() {
+        int number = USERS.incrementAndGet();
+        userId = userService.createUser(UserDto.builder()
+                .name("user " + number)
+                .email("user" + number + "@trusted.test")
+                .build()).getId();
+    }
+
+    /**
+     * Method under test: {@link TrustedGatewayMethodValidator#validateParameters}
+     */
+    @Test
+    void testSignedRequestSkipsMethodValidation() throws Exception {
+        mockMvc.perform(signed("/requests", BLANK_REQUEST, System.currentTimeMillis()))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Method under test: {@link TrustedGatewayMethodValidator#validateParameters}
+     */
+    @Test
+    void testUnsignedRequestRunsMethodValidation() throws Exception {
+        mockMvc.perform(unsigned("/requests", BLANK_REQUEST))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Method under test: {@link TrustedGatewayValidator#validate(Object, org.springframework.validation.Errors,
+     * Object...)}
+     */
+    @Test
+    void testSignedRequestSkipsBinderValidation() throws Exception {
+        mockMvc.perform(signed("/users", INVALID_USER, System.currentTimeMillis()))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Method under test: {@link TrustedGatewayValidator#validate(Object, org.springframework.validation.Errors,
+     * Object...)}
+     */
+    @Test
+    void testUnsignedRequestRunsBinderValidation() throws Exception {
+        mockMvc.perform(unsigned("/users", INVALID_USER))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Method under test: {@link TrustedGatewayFilter#doFilter}
+     */
+    @Test
+    void testReplayedSignatureIsValidated() throws Exception {
+        long timestamp = System.currentTimeMillis();
+
+        mockMvc.perform(signed("/requests", BLANK_REQUEST, timestamp))
+                .andExpect(status().isOk());
+        mockMvc.perform(signed("/requests", BLANK_REQUEST, timestamp))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Method under test: {@link TrustedGatewayFilter#doFilter}
+     */
+    @Test
+    void testOversizedBodyIsValidated() throws Exception {
+        String body = "{\"description\":\"" + " ".repeat(2048) + "\"}";
+
+        mockMvc.perform(signed("/requests", body, System.currentTimeMillis()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder unsigned(String uri, String body) {
+        return post(uri).header(CommonConstants.ID_OF_USER_WHO_ADDS_HEADER, userId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private MockHttpServletRequestBuilder signed(String uri, String body, long timestamp) {
+        return unsigned(uri, body)
+                .header(CommonConstants.GATEWAY_TIMESTAMP_HEADER, timestamp)
+                .header(CommonConstants.GATEWAY_SIGNATURE_HEADER, GatewaySignature.sign(SECRET, "POST", uri,
+                        String.valueOf(userId), String.valueOf(timestamp), body.getBytes(StandardCharsets.UTF_8)));
+    }
+}